@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS payment_rollup (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    payment_status VARCHAR(50) NOT NULL,
+    delivery_method VARCHAR(50) NOT NULL,
+    channel VARCHAR(50) NOT NULL,
+    currency VARCHAR(10) NOT NULL,
+    io_type VARCHAR(10) NOT NULL,
+    payment_count BIGINT NOT NULL DEFAULT 0,
+    sender_amount DECIMAL(24,4) NOT NULL DEFAULT 0,
+    updated_date_time DATETIME NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_payment_rollup_cell (granularity, bucket_start, payment_status, delivery_method, channel, currency, io_type),
+    KEY idx_payment_rollup_bucket (granularity, bucket_start)
+);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS widget_config_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    widget_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    payload LONGTEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    last_error VARCHAR(1000),
+    created_date_time DATETIME NOT NULL,
+    sent_date_time DATETIME,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_widget_config_outbox_key (idempotency_key),
+    KEY idx_widget_config_outbox_due (status, next_attempt_at)
+);
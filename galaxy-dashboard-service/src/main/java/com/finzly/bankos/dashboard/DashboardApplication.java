@@ -10,6 +10,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.ComponentScan.Filter;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(exclude = {LiquibaseAutoConfiguration.class  /*, ContextStackAutoConfiguration.class*/ })
 @ComponentScan(value={
@@ -29,6 +30,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 	excludeFilters = {
 	        @Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
 	        @Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class) })
+@EnableScheduling
 public class DashboardApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,266 @@
+package com.finzly.bankos.dashboard.adapter;
+
+import com.finzly.bankos.dashboard.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive (AIMD) concurrency limit for the outbound calls of one downstream service.
+ *
+ * Every completed call is a sample. A call that fails with an overload signal, or takes longer than
+ * the slow-call threshold, shrinks the limit multiplicatively; a fast successful call while the limit
+ * is at least half used grows it additively, by about one per limit's worth of calls. The limit
+ * therefore settles just below the concurrency at which the service starts to slow down, and drops
+ * quickly during its incidents. Calls over the limit wait in a short bounded queue and are rejected
+ * with ConcurrencyLimitExceededException when it is full or their wait runs out.
+ *
+ * Gauges: dashboard.outbound.concurrency.limit and .in-flight; counter .rejected; all tagged service.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final String name;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private final long slowCallNanos;
+    private final int maxQueueSize;
+    private final Duration maxWait;
+    private final Predicate<Throwable> isOverload;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+    private volatile double limit;
+    private volatile int inFlight;
+
+    private final Counter rejected;
+
+    /**
+     * @param isOverload Whether a failure indicates that the service is overloaded, as opposed to e.g. a rejected request
+     */
+    public AdaptiveConcurrencyLimiter(String name,
+                                      MeterRegistry meterRegistry,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      double backoffRatio,
+                                      Duration slowCallThreshold,
+                                      int maxQueueSize,
+                                      Duration maxWait,
+                                      Predicate<Throwable> isOverload) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.backoffRatio = backoffRatio;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.maxQueueSize = maxQueueSize;
+        this.maxWait = maxWait;
+        this.isOverload = isOverload;
+
+        Gauge.builder("dashboard.outbound.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("service", name)
+                .register(meterRegistry);
+        Gauge.builder("dashboard.outbound.concurrency.in-flight", this, limiter -> limiter.inFlight)
+                .description("Calls currently holding a concurrency permit")
+                .tag("service", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("dashboard.outbound.concurrency.rejected")
+                .description("Calls rejected by the concurrency limit")
+                .tag("service", name)
+                .register(meterRegistry);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Runs a reactive call under the limit. Waiting for a permit never blocks a thread; a call
+     * cancelled by its subscriber returns its permit without counting as a sample.
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> acquire()
+                .flatMap(permit -> call
+                        .doOnSuccess(value -> permit.complete(null))
+                        .doOnError(permit::complete)
+                        .doOnCancel(permit::cancel)));
+    }
+
+    /**
+     * Runs a blocking call under the limit, waiting on the calling thread for a permit if needed.
+     */
+    public <T> T execute(Supplier<T> call) {
+        Permit permit = acquireBlocking();
+        Throwable failure = null;
+        try {
+            return call.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            permit.complete(failure);
+        }
+    }
+
+    private Mono<Permit> acquire() {
+        CompletableFuture<Permit> waiter = enqueue();
+        if (waiter.isDone()) {
+            return Mono.fromFuture(waiter);
+        }
+        // The future is only cancelled through abandon, which knows whether a permit was granted meanwhile
+        return Mono.fromFuture(waiter, true)
+                .timeout(maxWait)
+                .onErrorResume(TimeoutException.class, e -> {
+                    Permit permit = abandon(waiter);
+                    return permit != null ? Mono.just(permit) : Mono.error(rejection());
+                })
+                .doOnCancel(() -> {
+                    Permit permit = abandon(waiter);
+                    if (permit != null) {
+                        permit.cancel();
+                    }
+                });
+    }
+
+    private Permit acquireBlocking() {
+        CompletableFuture<Permit> waiter = enqueue();
+        try {
+            return waiter.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            Permit permit = abandon(waiter);
+            if (permit == null) {
+                throw rejection();
+            }
+            return permit;
+        } catch (InterruptedException e) {
+            Permit permit = abandon(waiter);
+            if (permit != null) {
+                permit.cancel();
+            }
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException("Interrupted waiting for a " + name + " concurrency permit");
+        } catch (ExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Grants a permit right away if the limit allows, otherwise queues the caller if there is room.
+     */
+    private CompletableFuture<Permit> enqueue() {
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (inFlight < (int) limit && waiters.isEmpty()) {
+                inFlight++;
+                waiter.complete(new Permit());
+                return waiter;
+            }
+            if (waiters.size() < maxQueueSize && !maxWait.isZero()) {
+                waiters.addLast(waiter);
+                return waiter;
+            }
+        } finally {
+            lock.unlock();
+        }
+        waiter.completeExceptionally(rejection());
+        return waiter;
+    }
+
+    /**
+     * Gives up on a queued permit.
+     * @return The permit if it was granted in the meantime, which the caller then owns, otherwise null
+     */
+    private Permit abandon(CompletableFuture<Permit> waiter) {
+        if (waiter.cancel(false)) {
+            lock.lock();
+            try {
+                waiters.remove(waiter);
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+        return waiter.join();
+    }
+
+    private ConcurrencyLimitExceededException rejection() {
+        rejected.increment();
+        return new ConcurrencyLimitExceededException(name + " concurrency limit of " + getLimit() + " reached");
+    }
+
+    private void release(long rttNanos, Throwable error, boolean sample) {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        lock.lock();
+        try {
+            if (sample) {
+                adjustLimit(rttNanos, error);
+            }
+            inFlight--;
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                inFlight++;
+                granted.add(waiters.pollFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Completed outside the lock, since waiting calls continue on this thread
+        for (CompletableFuture<Permit> waiter : granted) {
+            Permit permit = new Permit();
+            if (!waiter.complete(permit)) {
+                permit.cancel();
+            }
+        }
+    }
+
+    private void adjustLimit(long rttNanos, Throwable error) {
+        double previous = limit;
+        if ((error != null && isOverload.test(error)) || rttNanos > slowCallNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (error == null && inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        if ((int) limit != (int) previous) {
+            LOGGER.debug("{} concurrency limit changed from {} to {}", name, (int) previous, (int) limit);
+        }
+    }
+
+    private class Permit {
+
+        private final long startedAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void complete(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                release(System.nanoTime() - startedAt, error, true);
+            }
+        }
+
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                release(0, null, false);
+            }
+        }
+    }
+}
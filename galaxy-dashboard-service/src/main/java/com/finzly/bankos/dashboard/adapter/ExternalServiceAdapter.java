@@ -1,5 +1,10 @@
 package com.finzly.bankos.dashboard.adapter;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finzly.bankos.dashboard.dto.response.ExternalQueryResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +17,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.ResourceAccessException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -20,13 +30,21 @@ import java.util.HashMap;
 @Slf4j
 public class ExternalServiceAdapter {
 
+    private static final TypeReference<LinkedHashMap<String, Object>> ROW_TYPE = new TypeReference<>() { };
+
     @Value("${external.service.url:http://localhost:8081}")
     private String externalServiceUrl;
 
     @Value("${external.service.endpoint:/api/query}")
     private String sqlEndpoint;
 
+    // Rows beyond this are not read, so one oversized result cannot exhaust the heap
+    @Value("${dashboard.external-service.max-rows:100000}")
+    private int maxRows;
+
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimiter externalServiceLimiter;
 
     /**
      * Sends SQL query to external service for execution
@@ -48,20 +66,20 @@ public class ExternalServiceAdapter {
             // Create HTTP entity
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
 
-            // Make the call to external service
-            ResponseEntity<Object> response = restTemplate.exchange(
+            // Make the call to external service, reading rows as they arrive instead of buffering the body
+            ExternalQueryResult rows = externalServiceLimiter.execute(() -> restTemplate.execute(
                 externalServiceUrl + sqlEndpoint,
                 HttpMethod.POST,
-                entity,
-                Object.class
-            );
+                restTemplate.httpEntityCallback(entity),
+                response -> readRows(response.getBody())
+            ));
 
-            log.info("External service response received successfully");
+            log.info("External service response received successfully: {} rows", rows != null ? rows.getRows().size() : 0);
             
             // Create response map similar to PaymentAdapter
             Map<String, Object> result = new HashMap<>();
             result.put("serviceName", getServiceName());
-            result.put("data", response.getBody());
+            result.put("data", rows);
             return result;
 
         } catch (ResourceAccessException e) {
@@ -87,10 +105,10 @@ public class ExternalServiceAdapter {
      */
     public boolean isExternalServiceAvailable() {
         try {
-            ResponseEntity<String> response = restTemplate.getForEntity(
+            ResponseEntity<String> response = externalServiceLimiter.execute(() -> restTemplate.getForEntity(
                 externalServiceUrl + "/api/query/health",
                 String.class
-            );
+            ));
             return response.getStatusCode().is2xxSuccessful();
         } catch (Exception e) {
             log.warn("External service health check failed: {}", e.getMessage());
@@ -98,6 +116,44 @@ public class ExternalServiceAdapter {
         }
     }
 
+    /**
+     * Streams result rows out of the response body. The rows are either the top-level array or the
+     * "rows" or "data" array of a top-level object; any other fields are skipped.
+     */
+    private ExternalQueryResult readRows(InputStream body) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        boolean truncated = false;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = seekRowsArray(parser);
+            }
+            if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (rows.size() >= maxRows) {
+                        truncated = true;
+                        log.warn("External service returned more than {} rows, truncating", maxRows);
+                        break;
+                    }
+                    rows.add(objectMapper.readValue(parser, ROW_TYPE));
+                }
+            }
+        }
+        return new ExternalQueryResult(rows, truncated);
+    }
+
+    private JsonToken seekRowsArray(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY && ("rows".equals(field) || "data".equals(field))) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
     public String getServiceName() {
         return "external-service";
     }
@@ -6,11 +6,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import com.swapstech.galaxy.persistence.config.TenantSchemaResolver;
+import com.finzly.bankos.dashboard.dto.request.WidgetConfigBatchRequest;
 import com.finzly.bankos.dashboard.dto.request.WidgetConfigRequest;
+import com.finzly.bankos.dashboard.dto.response.WidgetConfigBatchResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -19,6 +28,8 @@ public class PaymentAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PaymentAdapter.class);
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Value("${service.payment.internal.url}")
     private String paymentURL;
 
@@ -28,22 +39,33 @@ public class PaymentAdapter {
     @Autowired
     private WebClientAdapter webClientAdapter;
 
+    @Autowired
+    private CircuitBreaker paymentServiceCircuitBreaker;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter paymentServiceLimiter;
+
+    @Value("${dashboard.payment-service.batch.max-size:50}")
+    private int batchMaxSize;
+
     public ResponseEntity<Void> test() {
+        return ping().block();
+    }
+
+    /**
+     * Non-blocking ping of payment service
+     * @return Response of the ping endpoint
+     */
+    public Mono<ResponseEntity<Void>> ping() {
         String url = paymentURL + "/payment-service/ping";
 
         LOGGER.info("Calling Payment Service at: {}", url);
 
-        // Perform GET call using WebClient
-        ResponseEntity<Void> block = webClientAdapter.getWebClient()
+        return guarded(webClientAdapter.getWebClient()
                 .get()
                 .uri(url)
                 .retrieve()
-                .toBodilessEntity()   // maps response body to empty (Void)
-                .block();// block and return ResponseEntity<Void>
-
-        System.out.print(block.getStatusCode());
-        return block;
-
+                .toBodilessEntity());   // maps response body to empty (Void)
     }
 
     public ResponseEntity<Void> executeQuery() {
@@ -54,11 +76,11 @@ public class PaymentAdapter {
 
         try {
             // Perform GET call using WebClient
-            block = webClientAdapter.getWebClient()
+            block = guarded(webClientAdapter.getWebClient()
                     .get()
                     .uri(url)
                     .retrieve()
-                    .toBodilessEntity()   // maps response body to empty (Void)
+                    .toBodilessEntity())   // maps response body to empty (Void)
                     .block();
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -72,17 +94,19 @@ public class PaymentAdapter {
         
         String url = paymentURL + "payment-service/api/widgets/generateAndExecuteQuery";
         LOGGER.info("Execute widget config URL: {}", url);
-        
-        return webClientAdapter.getWebClient()
+
+        return guarded(webClientAdapter.getWebClient()
             .post()
             .uri(url)
             .bodyValue(widgetConfigRequest)
             .retrieve()
-            .bodyToMono(Object.class)
-            .map(response -> {
+            .bodyToMono(Object.class))
+            // A call that yields no data is reported as an error rather than completing empty, which block() would turn into null
+            .switchIfEmpty(Mono.error(new IllegalStateException("Payment service returned no data")))
+            .map(data -> {
                 Map<String, Object> result = new HashMap<>();
                 result.put("serviceName", getServiceName());
-                result.put("data", response);
+                result.put("data", data);
                 return result;
             })
             .onErrorReturn(Map.of(
@@ -93,6 +117,49 @@ public class PaymentAdapter {
             ));
     }
 
+    /**
+     * Executes several widget configurations on payment service with one call per
+     * dashboard.payment-service.batch.max-size items, returning one result per item in request order.
+     * A failing item is reported in its result; a failing call fails the returned Mono.
+     * Not called yet: payment-service does not expose generateAndExecuteQuery/batch so far.
+     * @param widgetConfigRequests The widget configuration requests
+     * @return Per-item results, indexed by position in widgetConfigRequests
+     */
+    public Mono<WidgetConfigBatchResponse> executeWidgetConfigBatch(List<WidgetConfigRequest> widgetConfigRequests) {
+        LOGGER.info("In PaymentAdapter - executeWidgetConfigBatch for {} widgets", widgetConfigRequests.size());
+
+        String url = paymentURL + "payment-service/api/widgets/generateAndExecuteQuery/batch";
+        // Resolved on the calling thread, where the tenant is known
+        WebClient webClient = webClientAdapter.getWebClient();
+
+        List<Mono<List<WidgetConfigBatchResponse.ItemResult>>> chunks = new ArrayList<>();
+        for (int from = 0; from < widgetConfigRequests.size(); from += batchMaxSize) {
+            int offset = from;
+            List<WidgetConfigRequest> chunk = widgetConfigRequests.subList(from, Math.min(widgetConfigRequests.size(), from + batchMaxSize));
+            chunks.add(guarded(webClient
+                    .post()
+                    .uri(url)
+                    .bodyValue(new WidgetConfigBatchRequest(chunk))
+                    .retrieve()
+                    .bodyToMono(WidgetConfigBatchResponse.class))
+                .map(response -> withOffset(response, offset)));
+        }
+
+        return Flux.concat(chunks)
+            .flatMapIterable(results -> results)
+            .collectList()
+            .map(WidgetConfigBatchResponse::new);
+    }
+
+    private List<WidgetConfigBatchResponse.ItemResult> withOffset(WidgetConfigBatchResponse response, int offset) {
+        List<WidgetConfigBatchResponse.ItemResult> results = response.getResults() != null ? response.getResults() : List.of();
+        for (int i = 0; i < results.size(); i++) {
+            WidgetConfigBatchResponse.ItemResult result = results.get(i);
+            result.setIndex((result.getIndex() != null ? result.getIndex() : i) + offset);
+        }
+        return results;
+    }
+
     /**
      * Synchronous version of executeWidgetConfig for compatibility with existing code
      * @param widgetConfigRequest The widget configuration request
@@ -115,17 +182,56 @@ public class PaymentAdapter {
     }
 
     /**
-     * Validates if payment service is available
-     * @return true if service is available, false otherwise
+     * Delivers a widget configuration for the outbox relay. Unlike executeWidgetConfiguration, failures
+     * are thrown so the relay can retry; the idempotency key is the same on every retry of a configuration.
+     * @param widgetConfigRequest The widget configuration request
+     * @param idempotencyKey Key identifying this configuration version
+     * @param timeout Maximum time to wait for payment service
+     */
+    public void sendWidgetConfiguration(WidgetConfigRequest widgetConfigRequest, String idempotencyKey, Duration timeout) {
+        String url = paymentURL + "payment-service/api/widgets/generateAndExecuteQuery";
+        LOGGER.debug("Sending widget configuration {} with idempotency key {}", widgetConfigRequest.getWidgetId(), idempotencyKey);
+
+        guarded(webClientAdapter.getWebClient()
+            .post()
+            .uri(url)
+            .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+            .bodyValue(widgetConfigRequest)
+            .retrieve()
+            .toBodilessEntity())
+            .block(timeout);
+    }
+
+    /**
+     * Reports payment service availability from the circuit breaker state, without calling it.
+     * The circuit reflects the outcome of recent real calls, so no extra ping is sent on demand.
+     * @return false while the circuit is open, true otherwise
      */
     public boolean isPaymentServiceAvailable() {
-        try {
-            ResponseEntity<Void> response = test();
-            return response.getStatusCode().is2xxSuccessful();
-        } catch (Exception e) {
-            LOGGER.warn("Payment service health check failed: {}", e.getMessage());
-            return false;
-        }
+        CircuitBreaker.State state = paymentServiceCircuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /**
+     * Actively pings payment service, through the circuit breaker
+     * @return true if service is available, false otherwise
+     */
+    public Mono<Boolean> checkPaymentServiceAvailability() {
+        return ping()
+                .map(response -> response.getStatusCode().is2xxSuccessful())
+                .onErrorResume(e -> {
+                    LOGGER.warn("Payment service health check failed: {}", e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Applies the payment service concurrency limit and circuit breaker to a call. While the circuit is open
+     * the call fails immediately with CallNotPermittedException instead of waiting for a timeout.
+     */
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return paymentServiceLimiter.limit(call)
+                .transformDeferred(CircuitBreakerOperator.of(paymentServiceCircuitBreaker));
     }
 
     public String getServiceName() {
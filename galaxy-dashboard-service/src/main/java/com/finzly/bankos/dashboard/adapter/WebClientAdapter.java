@@ -2,14 +2,38 @@ package com.finzly.bankos.dashboard.adapter;
 
 import com.swapstech.galaxy.common.tenant.model.TenantContext;
 import com.swapstech.galaxy.security.client.BankOSWebClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hands out the payment-service WebClient of the current tenant.
+ * Clients are built once per tenant on the shared, pooled payment HTTP client and reused, so
+ * connections and the client's token state survive across calls. A tenant's client is rebuilt
+ * only when a configuration refresh changes that tenant's credentials or auth URL.
+ */
 @Component
 public class WebClientAdapter {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebClientAdapter.class);
+
+    private static final String DEFAULT_TENANT = "banka";
+
+    private static final Pattern TENANT_CREDENTIAL_KEY =
+            Pattern.compile("^bankos\\.(?:paymenthub\\.tenant|tenant)\\.([^.]+)\\.(?:apiaccount|auth)\\..+$");
+
     @Autowired
     private Environment env;
 
@@ -17,32 +41,55 @@ public class WebClientAdapter {
     @Autowired
     private BankOSWebClient bankOSWebClient;
 
+    @Autowired
+    private HttpClient paymentHttpClient;
+
+    private final Map<String, WebClient> clients = new ConcurrentHashMap<>();
+
 
     public WebClient getWebClient() {
-        String tenantName = TenantContext.getCurrentTenant();
+        return clients.computeIfAbsent(resolveTenant(TenantContext.getCurrentTenant()), this::createWebClient);
+    }
+
+    private WebClient createWebClient(String tenantName) {
+        LOGGER.info("Creating payment service WebClient for tenant {}", tenantName);
         return bankOSWebClient.webClient(getApiAuthUrl(tenantName),
-                getApiAccountClientId(tenantName),
-                getApiAccountSecret(tenantName));
+                        getApiAccountClientId(tenantName),
+                        getApiAccountSecret(tenantName))
+                .mutate()
+                .clientConnector(new ReactorClientHttpConnector(paymentHttpClient))
+                .build();
     }
 
-    public String getApiAccountClientId(String tenantName) {
-        if (tenantName == null || tenantName.isBlank()) {
-            tenantName = "banka"; // default value
+    /**
+     * Drops the cached clients of tenants whose credentials changed in a configuration refresh.
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        for (String key : event.getKeys()) {
+            Matcher matcher = TENANT_CREDENTIAL_KEY.matcher(key);
+            if (matcher.matches() && clients.remove(matcher.group(1)) != null) {
+                LOGGER.info("Credentials of tenant {} changed, payment service WebClient will be rebuilt", matcher.group(1));
+            }
         }
-        return env.getProperty("bankos.paymenthub.tenant." + tenantName + ".apiaccount.clientId");
+    }
+
+    public String getApiAccountClientId(String tenantName) {
+        return env.getProperty("bankos.paymenthub.tenant." + resolveTenant(tenantName) + ".apiaccount.clientId");
     }
 
     public String getApiAccountSecret(String tenantName) {
-        if (tenantName == null || tenantName.isBlank()) {
-            tenantName = "banka"; // default value
-        }
-        return env.getProperty("bankos.paymenthub.tenant." + tenantName + ".apiaccount.secret");
+        return env.getProperty("bankos.paymenthub.tenant." + resolveTenant(tenantName) + ".apiaccount.secret");
     }
 
     public String getApiAuthUrl(String tenantName) {
+        return env.getProperty("bankos.tenant." + resolveTenant(tenantName) + ".auth.url");
+    }
+
+    private static String resolveTenant(String tenantName) {
         if (tenantName == null || tenantName.isBlank()) {
-            tenantName = "banka"; // default value
+            return DEFAULT_TENANT; // default value
         }
-        return env.getProperty("bankos.tenant." + tenantName + ".auth.url");
+        return tenantName;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.finzly.bankos.dashboard.aggregate;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary of the distinct values of one label column: each value gets a small int code in
+ * insertion order. Lookups use an open-addressing table, so encoding a value allocates nothing.
+ *
+ * Dictionaries are append-only, so a code never changes meaning and result sets built at different
+ * times can keep referencing the same dictionary. Encoding is synchronized; decoding is lock-free,
+ * which is safe because a code only reaches a reader after the encode that created it.
+ */
+public class LabelDictionary {
+
+    private volatile String[] values;
+    // Holds code + 1 per slot, 0 marks an empty slot
+    private int[] table;
+    private volatile int size;
+
+    public LabelDictionary() {
+        this.values = new String[8];
+        this.table = new int[16];
+    }
+
+    /**
+     * Returns the code of the value, adding it to the dictionary if it is new.
+     */
+    public synchronized int encode(String value) {
+        int mask = table.length - 1;
+        int slot = spread(value.hashCode()) & mask;
+        while (table[slot] != 0) {
+            int code = table[slot] - 1;
+            if (values[code].equals(value)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        values = current;
+        table[slot] = size + 1;
+        size++;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    public String decode(int code) {
+        return values[code];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[table.length * 2];
+        int mask = rehashed.length - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = spread(values[code].hashCode()) & mask;
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = code + 1;
+        }
+        table = rehashed;
+    }
+
+    static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,60 @@
+package com.finzly.bankos.dashboard.aggregate;
+
+import com.finzly.bankos.dashboard.entity.PaymentRollupDimension;
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tenant-wide label dictionaries of the categorical payment dimensions.
+ * Status codes, delivery methods, channels, currencies and IO types repeat across every cached
+ * widget result of a tenant; results built over these dictionaries hold them as int codes, and
+ * the strings exist once per tenant and dimension until they are decoded for serialization.
+ *
+ * Dictionaries are append-only. A dimension that turns out not to be categorical (more distinct
+ * values than dashboard.label-dictionary.max-size) stops being shared: new results fall back to
+ * dictionaries of their own, while results already built keep the shared one.
+ */
+@Component
+public class LabelDictionaryRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(LabelDictionaryRegistry.class);
+
+    private final Map<String, Map<PaymentRollupDimension, LabelDictionary>> dictionaries = new ConcurrentHashMap<>();
+
+    @Value("${dashboard.label-dictionary.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * @return The current tenant's dictionary of the group field, or null if the field is not a categorical dimension
+     */
+    public LabelDictionary forGroupField(String groupField) {
+        return PaymentRollupDimension.fromFieldName(groupField)
+                .map(this::forDimension)
+                .orElse(null);
+    }
+
+    /**
+     * @return The current tenant's dictionary of the dimension, or null if there is no tenant or it is full
+     */
+    public LabelDictionary forDimension(PaymentRollupDimension dimension) {
+        String tenant = TenantContext.getCurrentTenant();
+        if (tenant == null) {
+            return null;
+        }
+        LabelDictionary dictionary = dictionaries
+                .computeIfAbsent(tenant, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(dimension, key -> new LabelDictionary());
+        if (dictionary.size() >= maxSize) {
+            log.debug("Label dictionary of {} for tenant {} is full with {} values, not sharing it",
+                    dimension, tenant, dictionary.size());
+            return null;
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,35 @@
+package com.finzly.bankos.dashboard.aggregate;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable additive measures (payment count and sender amount) for one aggregate cell.
+ */
+public class PaymentAggregate {
+
+    private long paymentCount;
+    private BigDecimal senderAmount = BigDecimal.ZERO;
+
+    public PaymentAggregate() {
+    }
+
+    public PaymentAggregate(long paymentCount, BigDecimal senderAmount) {
+        this.paymentCount = paymentCount;
+        this.senderAmount = senderAmount;
+    }
+
+    public synchronized void add(long countDelta, BigDecimal amountDelta) {
+        paymentCount += countDelta;
+        if (amountDelta != null) {
+            senderAmount = senderAmount.add(amountDelta);
+        }
+    }
+
+    public synchronized long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public synchronized BigDecimal getSenderAmount() {
+        return senderAmount;
+    }
+}
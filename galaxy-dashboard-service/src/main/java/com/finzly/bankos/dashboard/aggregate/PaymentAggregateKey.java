@@ -0,0 +1,20 @@
+package com.finzly.bankos.dashboard.aggregate;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identifies one payment aggregate cell: a tenant, an hour bucket and the full set of
+ * categorical dimensions widgets group payments by.
+ */
+@Value
+public class PaymentAggregateKey {
+    String tenant;
+    LocalDateTime bucketHour;
+    String paymentStatus;
+    String deliveryMethod;
+    String channel;
+    String currency;
+    String ioType;
+}
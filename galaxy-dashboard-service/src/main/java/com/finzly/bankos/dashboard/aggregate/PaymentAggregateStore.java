@@ -0,0 +1,102 @@
+package com.finzly.bankos.dashboard.aggregate;
+
+import com.finzly.bankos.dashboard.dto.event.PaymentChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory hourly payment aggregate deltas fed by payment change events.
+ * Each event removes the "before" state from its cell and adds the "after" state, so applying
+ * a set of distinct events gives the same result regardless of delivery order.
+ * Deltas are periodically drained into the payment_rollup table by PaymentRollupService.
+ */
+@Component
+public class PaymentAggregateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentAggregateStore.class);
+
+    private final Map<PaymentAggregateKey, PaymentAggregate> aggregates = new ConcurrentHashMap<>();
+
+    /**
+     * Applies a micro-batch of already de-duplicated events.
+     */
+    public void apply(List<PaymentChangeEvent> events) {
+        for (PaymentChangeEvent event : events) {
+            apply(event);
+        }
+        log.debug("Applied {} payment events, {} aggregate cells tracked", events.size(), aggregates.size());
+    }
+
+    /**
+     * Applies a single event: removes its "before" state and adds its "after" state.
+     */
+    public void apply(PaymentChangeEvent event) {
+        if (event.getBefore() != null) {
+            add(event.getTenant(), event.getBefore(), event.getEventDateTime(), -1);
+        }
+        if (event.getAfter() != null) {
+            add(event.getTenant(), event.getAfter(), event.getEventDateTime(), 1);
+        }
+    }
+
+    /**
+     * Removes and returns every aggregate cell accumulated since the previous drain.
+     * Cells are removed atomically with respect to {@link #apply}, so no update is lost between drains.
+     */
+    public Map<PaymentAggregateKey, PaymentAggregate> drain() {
+        Map<PaymentAggregateKey, PaymentAggregate> drained = new HashMap<>();
+        for (PaymentAggregateKey key : aggregates.keySet()) {
+            PaymentAggregate aggregate = aggregates.remove(key);
+            if (aggregate != null) {
+                drained.put(key, aggregate);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Adds previously drained cells back, e.g. when persisting them failed.
+     */
+    public void restore(Map<PaymentAggregateKey, PaymentAggregate> cells) {
+        cells.forEach((key, aggregate) -> aggregates.compute(key, (k, existing) -> {
+            PaymentAggregate target = existing != null ? existing : new PaymentAggregate();
+            target.add(aggregate.getPaymentCount(), aggregate.getSenderAmount());
+            return target;
+        }));
+    }
+
+    private void add(String tenant, PaymentChangeEvent.PaymentSnapshot snapshot, LocalDateTime eventDateTime, int sign) {
+        LocalDateTime bucketTime = snapshot.getCreatedDateTime() != null ? snapshot.getCreatedDateTime() : eventDateTime;
+        if (bucketTime == null) {
+            bucketTime = LocalDateTime.now();
+        }
+        PaymentAggregateKey key = new PaymentAggregateKey(
+                tenant,
+                bucketTime.truncatedTo(ChronoUnit.HOURS),
+                snapshot.getPaymentStatus(),
+                snapshot.getDeliveryMethod(),
+                snapshot.getChannel(),
+                snapshot.getCurrency(),
+                snapshot.getIoType());
+
+        BigDecimal amountDelta = snapshot.getSenderAmount() != null
+                ? snapshot.getSenderAmount().multiply(BigDecimal.valueOf(sign))
+                : null;
+
+        // compute() keeps the update atomic with drain()'s remove()
+        aggregates.compute(key, (k, existing) -> {
+            PaymentAggregate target = existing != null ? existing : new PaymentAggregate();
+            target.add(sign, amountDelta);
+            return target;
+        });
+    }
+}
@@ -0,0 +1,402 @@
+package com.finzly.bankos.dashboard.aggregate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grouped widget query result held in primitive columns.
+ *
+ * Each row is one group. Its label is stored as one int code per label column (one column per
+ * group field), decoded through that column's dictionary, and each measure is a long[] while all
+ * of its values are integral and a double[] otherwise. Results are built once by a Builder and
+ * never modified afterwards, so they are cached and shared as-is; a delta refresh builds a new
+ * result with {@link #plus(WidgetResultSet)}.
+ *
+ * A categorical column may use a tenant-wide dictionary from LabelDictionaryRegistry instead of
+ * one of its own. Its values are then stored once for all cached results of the tenant, and
+ * results over the same dictionary are merged on codes alone, without touching the strings.
+ *
+ * Serialized as the label -> value object of the first measure, the shape widget data has always
+ * had, with the label columns of a row joined by "-".
+ */
+@JsonSerialize(using = WidgetResultSet.JsonWriter.class)
+public final class WidgetResultSet {
+
+    private static final String LABEL_SEPARATOR = "-";
+
+    private final LabelDictionary[] dictionaries;
+    private final int[][] codes;
+    private final String[] measureNames;
+    // Per measure exactly one of the two arrays is set
+    private final long[][] longMeasures;
+    private final double[][] doubleMeasures;
+    private final int size;
+
+    private WidgetResultSet(LabelDictionary[] dictionaries, int[][] codes, String[] measureNames,
+                            long[][] longMeasures, double[][] doubleMeasures, int size) {
+        this.dictionaries = dictionaries;
+        this.codes = codes;
+        this.measureNames = measureNames;
+        this.longMeasures = longMeasures;
+        this.doubleMeasures = doubleMeasures;
+        this.size = size;
+    }
+
+    /**
+     * Starts a result with a single label column and a dictionary of its own.
+     */
+    public static Builder builder(List<String> measureNames) {
+        return new Builder(new LabelDictionary[1], measureNames);
+    }
+
+    /**
+     * Starts a result with a single label column.
+     * @param dictionary Shared dictionary of the column, or null for a dictionary of its own
+     */
+    public static Builder builder(LabelDictionary dictionary, List<String> measureNames) {
+        return new Builder(new LabelDictionary[] {dictionary}, measureNames);
+    }
+
+    /**
+     * Starts a result with one label column per dictionary.
+     * @param dictionaries Shared dictionary per column; null entries get a dictionary of their own
+     */
+    public static Builder builder(LabelDictionary[] dictionaries, List<String> measureNames) {
+        return new Builder(dictionaries.clone(), measureNames);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int labelColumnCount() {
+        return codes.length;
+    }
+
+    /**
+     * The display label of a row: its label column values joined by "-".
+     */
+    public String label(int row) {
+        if (codes.length == 1) {
+            return dictionaries[0].decode(codes[0][row]);
+        }
+        StringBuilder label = new StringBuilder();
+        for (int column = 0; column < codes.length; column++) {
+            if (column > 0) {
+                label.append(LABEL_SEPARATOR);
+            }
+            label.append(dictionaries[column].decode(codes[column][row]));
+        }
+        return label.toString();
+    }
+
+    public List<String> labels() {
+        List<String> labels = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            labels.add(label(row));
+        }
+        return labels;
+    }
+
+    public int measureCount() {
+        return measureNames.length;
+    }
+
+    public String measureName(int measure) {
+        return measureNames[measure];
+    }
+
+    public boolean isIntegral(int measure) {
+        return longMeasures[measure] != null;
+    }
+
+    /**
+     * The values of an integral measure, by row. The array is shared and must not be modified.
+     */
+    public long[] longValues(int measure) {
+        return longMeasures[measure];
+    }
+
+    /**
+     * The values of a fractional measure, by row. The array is shared and must not be modified.
+     */
+    public double[] doubleValues(int measure) {
+        return doubleMeasures[measure];
+    }
+
+    /**
+     * Returns a new result with the delta's measures added group by group; groups new in the delta
+     * are appended. Both results must have the same label columns and measures.
+     */
+    public WidgetResultSet plus(WidgetResultSet delta) {
+        if (delta.labelColumnCount() != labelColumnCount() || delta.measureCount() != measureCount()) {
+            throw new IllegalArgumentException("Cannot merge widget results of different shapes");
+        }
+        // Continues this result's dictionaries; they are append-only, so this result's codes stay valid
+        Builder merged = new Builder(dictionaries.clone(), Arrays.asList(measureNames));
+        merged.addAll(this);
+        merged.addAll(delta);
+        return merged.build();
+    }
+
+    /**
+     * Collects groups and measure values. Adding a value to a label that is already present adds
+     * it to that group's measure.
+     */
+    public static class Builder {
+
+        private static final String DEFAULT_MEASURE_NAME = "value";
+
+        private final LabelDictionary[] dictionaries;
+        private final String[] measureNames;
+        private int[][] codes;
+        private long[][] longMeasures;
+        private double[][] doubleMeasures;
+        private int size;
+
+        // Open-addressing index of rows by their label codes, holding row + 1 per slot
+        private int[] rowTable = new int[16];
+        private final int[] scratch;
+
+        private Builder(LabelDictionary[] dictionaries, List<String> measureNames) {
+            int labelColumns = dictionaries.length;
+            if (labelColumns < 1) {
+                throw new IllegalArgumentException("A widget result needs at least one label column");
+            }
+            this.dictionaries = dictionaries;
+            for (int column = 0; column < labelColumns; column++) {
+                if (dictionaries[column] == null) {
+                    dictionaries[column] = new LabelDictionary();
+                }
+            }
+            this.measureNames = measureNames == null || measureNames.isEmpty()
+                    ? new String[] {DEFAULT_MEASURE_NAME}
+                    : measureNames.toArray(new String[0]);
+            this.codes = new int[labelColumns][8];
+            this.longMeasures = new long[this.measureNames.length][8];
+            this.doubleMeasures = new double[this.measureNames.length][];
+            this.scratch = new int[labelColumns];
+        }
+
+        /**
+         * Adds to the first measure of a single-column label.
+         */
+        public Builder add(String label, long value) {
+            return add(row(label), 0, value);
+        }
+
+        public Builder add(String label, double value) {
+            return add(row(label), 0, value);
+        }
+
+        /**
+         * Adds to the first measure of a multi-column label, one value per label column.
+         */
+        public Builder add(String[] labelParts, long value) {
+            return add(row(labelParts), 0, value);
+        }
+
+        public Builder add(String[] labelParts, double value) {
+            return add(row(labelParts), 0, value);
+        }
+
+        public Builder add(int row, int measure, long value) {
+            if (longMeasures[measure] != null) {
+                longMeasures[measure][row] += value;
+            } else {
+                doubleMeasures[measure][row] += value;
+            }
+            return this;
+        }
+
+        public Builder add(int row, int measure, double value) {
+            if (longMeasures[measure] != null) {
+                toFractional(measure);
+            }
+            doubleMeasures[measure][row] += value;
+            return this;
+        }
+
+        /**
+         * Adds every group of a result with the same shape.
+         */
+        public Builder addAll(WidgetResultSet result) {
+            for (int row = 0; row < result.size; row++) {
+                for (int column = 0; column < scratch.length; column++) {
+                    int code = result.codes[column][row];
+                    // Over the same dictionary the code is the label; otherwise translate through the value
+                    scratch[column] = result.dictionaries[column] == dictionaries[column]
+                            ? code
+                            : dictionaries[column].encode(result.dictionaries[column].decode(code));
+                }
+                int target = rowForScratch();
+                for (int measure = 0; measure < measureNames.length; measure++) {
+                    if (result.longMeasures[measure] != null) {
+                        add(target, measure, result.longMeasures[measure][row]);
+                    } else {
+                        add(target, measure, result.doubleMeasures[measure][row]);
+                    }
+                }
+            }
+            return this;
+        }
+
+        public int row(String label) {
+            if (dictionaries.length != 1) {
+                throw new IllegalArgumentException("Expected " + dictionaries.length + " label parts");
+            }
+            scratch[0] = dictionaries[0].encode(label);
+            return rowForScratch();
+        }
+
+        /**
+         * Returns the row of the label, adding an empty group if it is new.
+         */
+        public int row(String[] labelParts) {
+            if (labelParts.length != dictionaries.length) {
+                throw new IllegalArgumentException("Expected " + dictionaries.length + " label parts");
+            }
+            for (int column = 0; column < labelParts.length; column++) {
+                scratch[column] = dictionaries[column].encode(labelParts[column]);
+            }
+            return rowForScratch();
+        }
+
+        public WidgetResultSet build() {
+            int[][] trimmedCodes = new int[dictionaries.length][];
+            for (int column = 0; column < dictionaries.length; column++) {
+                trimmedCodes[column] = Arrays.copyOf(codes[column], size);
+            }
+            long[][] longs = new long[measureNames.length][];
+            double[][] doubles = new double[measureNames.length][];
+            for (int measure = 0; measure < measureNames.length; measure++) {
+                if (longMeasures[measure] != null) {
+                    longs[measure] = Arrays.copyOf(longMeasures[measure], size);
+                } else {
+                    doubles[measure] = Arrays.copyOf(doubleMeasures[measure], size);
+                }
+            }
+            return new WidgetResultSet(dictionaries.clone(), trimmedCodes, measureNames.clone(), longs, doubles, size);
+        }
+
+        private int rowForScratch() {
+            int mask = rowTable.length - 1;
+            int slot = hashScratch() & mask;
+            while (rowTable[slot] != 0) {
+                int row = rowTable[slot] - 1;
+                if (hasScratchCodes(row)) {
+                    return row;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (size == codes[0].length) {
+                grow();
+            }
+            for (int column = 0; column < scratch.length; column++) {
+                codes[column][size] = scratch[column];
+            }
+            rowTable[slot] = size + 1;
+            size++;
+            if (size * 2 > rowTable.length) {
+                rehashRows();
+            }
+            return size - 1;
+        }
+
+        private boolean hasScratchCodes(int row) {
+            for (int column = 0; column < scratch.length; column++) {
+                if (codes[column][row] != scratch[column]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int hashScratch() {
+            int hash = 1;
+            for (int code : scratch) {
+                hash = 31 * hash + code;
+            }
+            return LabelDictionary.spread(hash * 0x9E3779B9);
+        }
+
+        private int hashRow(int row) {
+            int hash = 1;
+            for (int[] column : codes) {
+                hash = 31 * hash + column[row];
+            }
+            return LabelDictionary.spread(hash * 0x9E3779B9);
+        }
+
+        private void grow() {
+            int capacity = Math.max(8, size * 2);
+            for (int column = 0; column < codes.length; column++) {
+                codes[column] = Arrays.copyOf(codes[column], capacity);
+            }
+            for (int measure = 0; measure < measureNames.length; measure++) {
+                if (longMeasures[measure] != null) {
+                    longMeasures[measure] = Arrays.copyOf(longMeasures[measure], capacity);
+                } else {
+                    doubleMeasures[measure] = Arrays.copyOf(doubleMeasures[measure], capacity);
+                }
+            }
+        }
+
+        private void rehashRows() {
+            int[] rehashed = new int[rowTable.length * 2];
+            int mask = rehashed.length - 1;
+            for (int row = 0; row < size; row++) {
+                int slot = hashRow(row) & mask;
+                while (rehashed[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                rehashed[slot] = row + 1;
+            }
+            rowTable = rehashed;
+        }
+
+        private void toFractional(int measure) {
+            long[] longs = longMeasures[measure];
+            double[] doubles = new double[longs.length];
+            for (int row = 0; row < size; row++) {
+                doubles[row] = longs[row];
+            }
+            doubleMeasures[measure] = doubles;
+            longMeasures[measure] = null;
+        }
+    }
+
+    /**
+     * Writes the label -> value object of the first measure straight from the primitive columns.
+     */
+    public static class JsonWriter extends StdSerializer<WidgetResultSet> {
+
+        public JsonWriter() {
+            super(WidgetResultSet.class);
+        }
+
+        @Override
+        public void serialize(WidgetResultSet result, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            long[] longs = result.longMeasures[0];
+            double[] doubles = result.doubleMeasures[0];
+            for (int row = 0; row < result.size; row++) {
+                generator.writeFieldName(result.label(row));
+                if (longs != null) {
+                    generator.writeNumber(longs[row]);
+                } else {
+                    generator.writeNumber(doubles[row]);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.finzly.bankos.dashboard.cache;
+
+import com.finzly.bankos.dashboard.dto.request.WidgetDataRequest;
+import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A widget result together with its refresh state.
+ * Instances are immutable apart from the last access time; a refresh replaces the whole entry,
+ * so readers never see a response whose data is being merged into.
+ */
+@Getter
+public class CachedWidgetResult {
+
+    private final WidgetDataRequest request;
+    private final WidgetDataResponse response;
+    private final int refreshIntervalSeconds;
+
+    // Upper bound of the row creation times already reflected in the response, or null if it has none (rollup results)
+    private final LocalDateTime watermark;
+    private final Instant lastRefresh;
+    private final Instant lastFullRefresh;
+
+    private volatile Instant lastAccess;
+
+    public CachedWidgetResult(WidgetDataRequest request, WidgetDataResponse response, int refreshIntervalSeconds,
+                              LocalDateTime watermark, Instant lastRefresh, Instant lastFullRefresh) {
+        this.request = request;
+        this.response = response;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        this.watermark = watermark;
+        this.lastRefresh = lastRefresh;
+        this.lastFullRefresh = lastFullRefresh;
+        this.lastAccess = lastRefresh;
+    }
+
+    /**
+     * Returns the entry that replaces this one after a refresh, keeping the access time.
+     */
+    public CachedWidgetResult refreshed(WidgetDataResponse response, LocalDateTime watermark, Instant refreshedAt, boolean full) {
+        CachedWidgetResult next = new CachedWidgetResult(request, response, refreshIntervalSeconds, watermark,
+                refreshedAt, full ? refreshedAt : lastFullRefresh);
+        next.lastAccess = lastAccess;
+        return next;
+    }
+
+    public void touch() {
+        lastAccess = Instant.now();
+    }
+}
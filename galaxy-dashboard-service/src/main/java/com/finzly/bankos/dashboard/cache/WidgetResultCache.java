@@ -0,0 +1,54 @@
+package com.finzly.bankos.dashboard.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of computed widget results, kept fresh by WidgetRefreshService.
+ */
+@Component
+public class WidgetResultCache {
+
+    private final Map<WidgetResultKey, CachedWidgetResult> results = new ConcurrentHashMap<>();
+
+    public CachedWidgetResult get(WidgetResultKey key) {
+        CachedWidgetResult result = results.get(key);
+        if (result != null) {
+            result.touch();
+        }
+        return result;
+    }
+
+    public void put(WidgetResultKey key, CachedWidgetResult result) {
+        results.put(key, result);
+    }
+
+    /**
+     * Swaps in a refreshed entry unless the entry was evicted or replaced in the meantime.
+     */
+    public boolean replace(WidgetResultKey key, CachedWidgetResult current, CachedWidgetResult refreshed) {
+        return results.replace(key, current, refreshed);
+    }
+
+    public void remove(WidgetResultKey key) {
+        results.remove(key);
+    }
+
+    /**
+     * Drops every cached result of a widget, whatever configuration it was computed for.
+     */
+    public void evictWidget(String tenant, Long widgetId) {
+        results.keySet().removeIf(key -> Objects.equals(key.getWidgetId(), widgetId) && Objects.equals(key.getTenant(), tenant));
+    }
+
+    public Map<WidgetResultKey, CachedWidgetResult> entries() {
+        return Map.copyOf(results);
+    }
+
+    public int size() {
+        return results.size();
+    }
+}
@@ -0,0 +1,25 @@
+package com.finzly.bankos.dashboard.cache;
+
+import com.finzly.bankos.dashboard.dto.request.WidgetDataRequest;
+import lombok.Value;
+
+/**
+ * Identifies a cached widget result: the tenant, the widget and the query it was computed for.
+ * The signature changes whenever the data source, groups, measures or filters change, so an edited
+ * widget never reads a result computed for its previous configuration.
+ */
+@Value
+public class WidgetResultKey {
+    String tenant;
+    Long widgetId;
+    String signature;
+
+    public static WidgetResultKey of(String tenant, WidgetDataRequest request) {
+        String signature = String.join("|",
+                String.valueOf(request.getDataSource()),
+                String.valueOf(request.getGroupFields()),
+                String.valueOf(request.getMeasureFields()),
+                String.valueOf(request.getSearchFields()));
+        return new WidgetResultKey(tenant, request.getWidgetId(), signature);
+    }
+}
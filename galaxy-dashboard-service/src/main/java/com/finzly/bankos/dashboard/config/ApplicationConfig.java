@@ -5,7 +5,11 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class ApplicationConfig {
@@ -22,10 +26,20 @@ public class ApplicationConfig {
     }
 
     /**
-     * RestTemplate bean for HTTP client operations
+     * Virtual-thread executor for fetching widget data concurrently; widget queries spend
+     * nearly all of their time waiting on the database or downstream services
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService widgetDataExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("widget-data-", 0).factory());
+    }
+
+    /**
+     * Reactor view of the widget data executor, so reactive endpoints can run blocking widget
+     * queries without holding the request thread
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public Scheduler widgetDataScheduler(ExecutorService widgetDataExecutor) {
+        return Schedulers.fromExecutorService(widgetDataExecutor, "widget-data");
     }
 }
@@ -0,0 +1,30 @@
+package com.finzly.bankos.dashboard.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR encoding of the REST API for service-to-service callers.
+ * A client sending Accept: application/cbor gets the same DTOs as the JSON API in binary form, and
+ * may send application/cbor request bodies. Browsers keep asking for JSON, so their path is unchanged.
+ */
+@Configuration
+public class BinaryEncodingConfig {
+
+    /**
+     * CBOR converter configured like the JSON ObjectMapper, so both encodings carry the same fields.
+     * It takes the place of Spring's default CBOR converter, which is ordered after the JSON one,
+     * so requests without a specific Accept header still get JSON.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder.cbor()
+                .modules(new JavaTimeModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+}
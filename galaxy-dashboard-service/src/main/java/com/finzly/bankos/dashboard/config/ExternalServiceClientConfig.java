@@ -0,0 +1,132 @@
+package com.finzly.bankos.dashboard.config;
+
+import com.finzly.bankos.dashboard.adapter.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP client for SQL execution on the external service.
+ * Connections are pooled and kept alive between calls; idle and old connections are evicted in the
+ * background. Responses are requested and decompressed as gzip. Larger request bodies are sent gzipped only
+ * when dashboard.external-service.http.compress-requests is enabled, for services known to decode them.
+ */
+@Configuration
+public class ExternalServiceClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager externalServiceConnectionManager(
+            @Value("${dashboard.external-service.http.max-connections:50}") int maxConnections,
+            @Value("${dashboard.external-service.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${dashboard.external-service.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${dashboard.external-service.http.read-timeout-ms:30000}") long readTimeoutMs,
+            @Value("${dashboard.external-service.http.max-life-time-ms:300000}") long maxLifeTimeMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(maxLifeTimeMs))
+                        // Checks a connection that sat idle in the pool before reusing it
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient externalServiceHttpClient(
+            PoolingHttpClientConnectionManager externalServiceConnectionManager,
+            @Value("${dashboard.external-service.http.read-timeout-ms:30000}") long readTimeoutMs,
+            @Value("${dashboard.external-service.http.connection-request-timeout-ms:5000}") long connectionRequestTimeoutMs,
+            @Value("${dashboard.external-service.http.max-idle-time-ms:30000}") long maxIdleTimeMs) {
+        // Content compression is on by default: gzip is requested and transparently decompressed
+        return HttpClients.custom()
+                .setConnectionManager(externalServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(maxIdleTimeMs))
+                .build();
+    }
+
+    /**
+     * RestTemplate for the external service, on the pooled client
+     */
+    @Bean
+    public RestTemplate externalServiceRestTemplate(
+            CloseableHttpClient externalServiceHttpClient,
+            // Opt-in: servlet containers do not decode gzipped request bodies unless the service is set up to
+            @Value("${dashboard.external-service.http.compress-requests:false}") boolean compressRequests,
+            @Value("${dashboard.external-service.http.compress-min-size:1024}") int compressMinSize) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(externalServiceHttpClient));
+        if (compressRequests) {
+            restTemplate.getInterceptors().add(gzipRequestBody(compressMinSize));
+        }
+        return restTemplate;
+    }
+
+    /**
+     * Adaptive concurrency limit for external service calls; waiting calls hold their thread
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter externalServiceLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.external-service.concurrency.initial-limit:10}") int initialLimit,
+            @Value("${dashboard.external-service.concurrency.min-limit:1}") int minLimit,
+            @Value("${dashboard.external-service.concurrency.max-limit:50}") int maxLimit,
+            @Value("${dashboard.external-service.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${dashboard.external-service.concurrency.slow-call-ms:10000}") long slowCallMs,
+            @Value("${dashboard.external-service.concurrency.max-queue-size:20}") int maxQueueSize,
+            @Value("${dashboard.external-service.concurrency.max-wait-ms:1000}") long maxWaitMs) {
+        // A 4xx answer is about the request, not about the external service being overloaded
+        return new AdaptiveConcurrencyLimiter("external-service", meterRegistry, initialLimit, minLimit, maxLimit,
+                backoffRatio, Duration.ofMillis(slowCallMs), maxQueueSize, Duration.ofMillis(maxWaitMs),
+                e -> !(e instanceof HttpClientErrorException));
+    }
+
+    private static ClientHttpRequestInterceptor gzipRequestBody(int minSize) {
+        return (request, body, execution) -> {
+            // Small bodies do not shrink enough to be worth the server's decompression
+            if (body.length < minSize || request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return execution.execute(request, body);
+            }
+            byte[] compressed = gzip(body);
+            request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            request.getHeaders().setContentLength(compressed.length);
+            return execution.execute(request, compressed);
+        };
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,49 @@
+package com.finzly.bankos.dashboard.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * HTTP client shared by the per-tenant payment-service WebClients.
+ * One explicitly sized connection pool is reused across tenants and calls; idle and old connections
+ * are evicted in the background so the pool never hands out a connection the server already closed.
+ */
+@Configuration
+public class PaymentClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider paymentConnectionProvider(
+            @Value("${dashboard.http.max-connections:100}") int maxConnections,
+            @Value("${dashboard.http.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${dashboard.http.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs,
+            @Value("${dashboard.http.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${dashboard.http.max-life-time-ms:300000}") long maxLifeTimeMs,
+            @Value("${dashboard.http.evict-interval-ms:60000}") long evictIntervalMs) {
+        return ConnectionProvider.builder("payment-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                .build();
+    }
+
+    @Bean
+    public HttpClient paymentHttpClient(
+            ConnectionProvider paymentConnectionProvider,
+            @Value("${dashboard.http.connect-timeout-ms:3000}") int connectTimeoutMs,
+            @Value("${dashboard.http.response-timeout-ms:10000}") long responseTimeoutMs) {
+        return HttpClient.create(paymentConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+    }
+}
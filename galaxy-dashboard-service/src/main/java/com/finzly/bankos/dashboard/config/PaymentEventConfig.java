@@ -0,0 +1,75 @@
+package com.finzly.bankos.dashboard.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finzly.bankos.dashboard.aggregate.PaymentAggregateStore;
+import com.finzly.bankos.dashboard.messaging.InMemoryPaymentEventTransport;
+import com.finzly.bankos.dashboard.messaging.PaymentEventConsumer;
+import com.finzly.bankos.dashboard.messaging.PaymentEventTransport;
+import com.finzly.bankos.dashboard.messaging.SqsPaymentEventTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Wiring for the payment change event consumer.
+ * Disabled unless dashboard.payment-events.enabled=true; the transport is selected with
+ * dashboard.payment-events.transport (sqs | in-memory).
+ */
+@Configuration
+@ConditionalOnProperty(name = "dashboard.payment-events.enabled", havingValue = "true")
+public class PaymentEventConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "dashboard.payment-events.transport", havingValue = "sqs", matchIfMissing = true)
+    public SqsClient paymentEventSqsClient(
+            @Value("${cloud.aws.region.static:us-east-2}") String region,
+            @Value("${cloud.aws.sqs.endpoint:}") String endpoint) {
+        SqsClientBuilder builder = SqsClient.builder().region(Region.of(region.trim()));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "dashboard.payment-events.transport", havingValue = "sqs", matchIfMissing = true)
+    public PaymentEventTransport sqsPaymentEventTransport(
+            SqsClient paymentEventSqsClient,
+            @Value("${dashboard.payment-events.sqs.queue-name}") String queueName) {
+        return new SqsPaymentEventTransport(paymentEventSqsClient, queueName);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "dashboard.payment-events.transport", havingValue = "in-memory")
+    public InMemoryPaymentEventTransport inMemoryPaymentEventTransport() {
+        return new InMemoryPaymentEventTransport();
+    }
+
+    @Bean
+    public PaymentEventConsumer paymentEventConsumer(
+            PaymentEventTransport paymentEventTransport,
+            PaymentAggregateStore paymentAggregateStore,
+            ObjectMapper objectMapper,
+            @Value("${dashboard.payment-events.batch-size:100}") int batchSize,
+            @Value("${dashboard.payment-events.max-batch-delay-ms:500}") long maxBatchDelayMs,
+            @Value("${dashboard.payment-events.receive-wait-seconds:20}") long receiveWaitSeconds,
+            @Value("${dashboard.payment-events.dedupe-capacity:100000}") int dedupeCapacity,
+            @Value("${dashboard.payment-events.default-tenant:finzly}") String defaultTenant) {
+        return new PaymentEventConsumer(
+                paymentEventTransport,
+                paymentAggregateStore,
+                objectMapper,
+                batchSize,
+                Duration.ofMillis(maxBatchDelayMs),
+                Duration.ofSeconds(receiveWaitSeconds),
+                dedupeCapacity,
+                defaultTenant);
+    }
+}
@@ -0,0 +1,72 @@
+package com.finzly.bankos.dashboard.config;
+
+import com.finzly.bankos.dashboard.adapter.AdaptiveConcurrencyLimiter;
+import com.finzly.bankos.dashboard.exception.ConcurrencyLimitExceededException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and concurrency limit guarding every PaymentAdapter call.
+ * The adaptive concurrency limit caps concurrent calls to payment-service at what it currently
+ * sustains, queueing the excess briefly; the circuit opens when too many calls fail or are slow,
+ * fails calls fast while open, and lets a few probe calls through in half-open state before closing again.
+ */
+@Configuration
+public class PaymentResilienceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentResilienceConfig.class);
+
+    @Bean
+    public CircuitBreaker paymentServiceCircuitBreaker(
+            @Value("${dashboard.payment-service.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${dashboard.payment-service.circuit-breaker.slow-call-duration-ms:2000}") long slowCallDurationMs,
+            @Value("${dashboard.payment-service.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${dashboard.payment-service.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${dashboard.payment-service.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${dashboard.payment-service.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+            @Value("${dashboard.payment-service.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A call rejected by the concurrency limit never reached payment-service, so it says nothing about its health
+                .ignoreExceptions(ConcurrencyLimitExceededException.class)
+                .build();
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("payment-service", config);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("payment-service circuit breaker: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter paymentServiceLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.payment-service.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${dashboard.payment-service.concurrency.min-limit:2}") int minLimit,
+            @Value("${dashboard.payment-service.concurrency.max-limit:100}") int maxLimit,
+            @Value("${dashboard.payment-service.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${dashboard.payment-service.concurrency.slow-call-ms:2000}") long slowCallMs,
+            @Value("${dashboard.payment-service.concurrency.max-queue-size:50}") int maxQueueSize,
+            @Value("${dashboard.payment-service.concurrency.max-wait-ms:200}") long maxWaitMs) {
+        // A 4xx answer is about the request, not about payment-service being overloaded
+        return new AdaptiveConcurrencyLimiter("payment-service", meterRegistry, initialLimit, minLimit, maxLimit,
+                backoffRatio, Duration.ofMillis(slowCallMs), maxQueueSize, Duration.ofMillis(maxWaitMs),
+                e -> !(e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()));
+    }
+}
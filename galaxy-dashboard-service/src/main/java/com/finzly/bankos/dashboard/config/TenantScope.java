@@ -0,0 +1,32 @@
+package com.finzly.bankos.dashboard.config;
+
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs work under a given tenant outside of a request thread (schedulers, consumers, worker pools).
+ * The previous tenant of the calling thread is always restored afterwards.
+ */
+public final class TenantScope {
+
+    private TenantScope() {
+    }
+
+    public static void run(String tenant, Runnable task) {
+        call(tenant, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> T call(String tenant, Supplier<T> task) {
+        String previous = TenantContext.getCurrentTenant();
+        TenantContext.setCurrentTenant(tenant);
+        try {
+            return task.get();
+        } finally {
+            TenantContext.setCurrentTenant(previous);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,6 +23,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -33,6 +36,7 @@ public class DashboardController {
 
     private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
     private final DashboardService dashboardService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     // 1. GET /portal/dashboards - Retrieves list of dashboards visible to the logged-in user
     @GetMapping
@@ -61,6 +65,41 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.success("Dashboard fetched successfully", dashboard));
     }
 
+    // GET /portal/dashboards/{id}/render - Returns the dashboard layout with every widget's data in one call;
+    //     handled asynchronously, no request thread waits while widget data loads
+    @GetMapping("/{id}/render")
+    public Mono<ResponseEntity<ApiResponse<DashboardRenderResponse>>> renderDashboard(
+            @PathVariable Long id,
+            @RequestParam(name = "userId") String userId,
+            @RequestParam(name = "departmentId", required = false) String departmentId) {
+
+        log.info("GET /portal/dashboards/{}/render called by user: {}", id, userId);
+
+        return dashboardService.renderDashboardReactive(id, userId, departmentId)
+                .map(dashboard -> {
+                    String message = dashboard.getComplete()
+                            ? "Dashboard rendered successfully"
+                            : "Dashboard rendered with " + dashboard.getFailedWidgets() + " widget(s) failing to load";
+                    return ResponseEntity.ok(ApiResponse.success(message, dashboard));
+                });
+    }
+
+    // GET /portal/dashboards/{id}/render/stream - Streams the dashboard layout, then each widget with its data
+    //     as application/x-ndjson in completion order
+    @GetMapping(value = "/{id}/render/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamDashboard(
+            @PathVariable Long id,
+            @RequestParam(name = "userId") String userId,
+            @RequestParam(name = "departmentId", required = false) String departmentId) {
+
+        log.info("GET /portal/dashboards/{}/render/stream called by user: {}", id, userId);
+
+        // Permission and not-found errors are raised here, before the stream is opened
+        DashboardService.RenderLayout layout = dashboardService.loadRenderLayout(id, userId, departmentId);
+
+        return ndjsonStreamer.<WidgetStreamEvent>stream(sink -> dashboardService.streamDashboard(layout, sink));
+    }
+
     // 3. POST /portal/dashboards - Creates a new dashboard
     @PostMapping
     public ResponseEntity<ApiResponse<DashboardResponse>> createDashboard(
@@ -0,0 +1,63 @@
+package com.finzly.bankos.dashboard.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finzly.bankos.dashboard.config.TenantScope;
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Writes application/x-ndjson responses: one JSON document per line, flushed as soon as it is produced.
+ * The producer runs off the request thread under the caller's tenant and is handed a sink for its events.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonStreamer {
+
+    private static final Logger log = LoggerFactory.getLogger(NdjsonStreamer.class);
+
+    private final ExecutorService widgetDataExecutor;
+    private final ObjectMapper objectMapper;
+
+    @Value("${dashboard.stream.timeout-ms:60000}")
+    private long timeoutMs;
+
+    public <T> ResponseEntity<ResponseBodyEmitter> stream(Consumer<Consumer<T>> producer) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        String tenant = TenantContext.getCurrentTenant();
+
+        widgetDataExecutor.execute(() -> TenantScope.run(tenant, () -> {
+            try {
+                producer.accept(event -> send(emitter, event));
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("Error while streaming response: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    private void send(ResponseBodyEmitter emitter, Object event) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(event) + "\n", MediaType.APPLICATION_NDJSON);
+        } catch (IOException e) {
+            // The client went away; stop producing
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.finzly.bankos.dashboard.controller;
 
 import com.finzly.bankos.dashboard.dto.response.ApiResponse;
+import com.finzly.bankos.dashboard.messaging.InMemoryPaymentEventTransport;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -19,10 +23,12 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/payments")
+@RequiredArgsConstructor
 @CrossOrigin
 public class PaymentEventController {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentEventController.class);
+    private final ObjectProvider<InMemoryPaymentEventTransport> inMemoryTransport;
 
 
     /**
@@ -39,6 +45,24 @@ public class PaymentEventController {
 
         return ResponseEntity.ok(ApiResponse.success("Trigger received", null));
     }
-}
 
+    /**
+     * Publishes a raw payment change event onto the in-memory transport.
+     * Only available when dashboard.payment-events.transport=in-memory (local runs and tests);
+     * deployed environments receive payment events from SQS.
+     *
+     * @param body payment change event JSON
+     * @return ApiResponse acknowledging the enqueue
+     */
+    @PostMapping("/events")
+    public ResponseEntity<ApiResponse<Void>> publishEvent(@RequestBody String body) {
+        InMemoryPaymentEventTransport transport = inMemoryTransport.getIfAvailable();
+        if (transport == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("In-memory payment event transport is not enabled"));
+        }
 
+        transport.publish(body);
+        return ResponseEntity.ok(ApiResponse.success("Payment event queued", null));
+    }
+}
@@ -8,6 +8,7 @@ import com.finzly.bankos.dashboard.dto.response.ApiResponse;
 import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
 import com.finzly.bankos.dashboard.dto.response.WidgetLibraryResponse;
 import com.finzly.bankos.dashboard.dto.response.WidgetResponse;
+import com.finzly.bankos.dashboard.dto.response.WidgetStreamEvent;
 import com.finzly.bankos.dashboard.entity.Widget;
 import com.finzly.bankos.dashboard.service.WidgetService;
 
@@ -15,7 +16,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -24,9 +29,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -34,11 +42,13 @@ import java.util.Map;
 @RestController
 @RequestMapping("/portal/widgets")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "X-Total-Count")
 public class WidgetController {
 
     private static final Logger log = LoggerFactory.getLogger(WidgetController.class);
+    private static final String FORMAT_PARAMETER = "format";
     private final WidgetService widgetService;
+    private final NdjsonStreamer ndjsonStreamer;
 
 
     // 8. POST /portal/widgets - Creates a new widget
@@ -93,17 +103,38 @@ public class WidgetController {
         return ResponseEntity.ok(ApiResponse.success("Widget retrieved successfully", widget));
     }
 
-    // 13. GET /portal/widgets - Returns list of all widgets visible to the user
+    // 13. GET /portal/widgets - Returns widgets visible to the user; metadata only unless includeData=true,
+    //     paged when size is given (total count in the X-Total-Count header)
     @GetMapping
     public ResponseEntity<ApiResponse<List<WidgetResponse>>> getAllWidgets(
             @RequestParam(name = "userId") String userId,
-            @RequestParam(name = "departmentId", required = false) String departmentId) {
+            @RequestParam(name = "departmentId", required = false) String departmentId,
+            @RequestParam(name = "includeData", defaultValue = "false") boolean includeData,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", required = false) Integer size) {
         
         log.info("GET /portal/widgets called by user: {}", userId);
         
-        List<WidgetResponse> widgets = widgetService.getAllWidgets(userId, departmentId);
+        Page<WidgetResponse> widgets = widgetService.getAllWidgets(userId, departmentId, includeData, page, size);
         
-        return ResponseEntity.ok(ApiResponse.success("Widgets retrieved successfully", widgets));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(widgets.getTotalElements()))
+                .body(ApiResponse.success("Widgets retrieved successfully", widgets.getContent()));
+    }
+
+    // GET /portal/widgets/stream - Streams visible widgets with their data as application/x-ndjson,
+    //     one line per widget in completion order, so the first widgets render before the slowest one loads
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamAllWidgets(
+            @RequestParam(name = "userId") String userId,
+            @RequestParam(name = "departmentId", required = false) String departmentId,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", required = false) Integer size) {
+
+        log.info("GET /portal/widgets/stream called by user: {}", userId);
+
+        return ndjsonStreamer.<WidgetStreamEvent>stream(
+                sink -> widgetService.streamAllWidgets(userId, departmentId, page, size, sink));
     }
 
     // Additional endpoints for better functionality
@@ -151,16 +182,25 @@ public class WidgetController {
         return ResponseEntity.ok(ApiResponse.success("User widgets retrieved successfully", widgets));
     }
 
-    // 14. /{internal-url}/widgets/data - Returns widget data based on search criteria
+    // 14. /{internal-url}/widgets/data - Returns widget data based on search criteria;
+    //     handled asynchronously, no request thread waits while the data loads.
+    //     Accept: application/json;format=columnar (or application/cbor;format=columnar) returns label/value data as {labels, series}
     @PostMapping("/data")
-    public ResponseEntity<WidgetDataResponse> getWidgetData(
-            @Valid @RequestBody WidgetDataRequest request) {
+    public Mono<ResponseEntity<WidgetDataResponse>> getWidgetData(
+            @Valid @RequestBody WidgetDataRequest request,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         
         log.info("POST /portal/widgets/data called for widget: {}", request.getWidgetId());
         
-        WidgetDataResponse response = widgetService.getWidgetData(request);
-        
-        return ResponseEntity.ok(response);
+        if (!acceptsColumnar(accept)) {
+            return widgetService.getWidgetDataReactive(request)
+                    .map(ResponseEntity::ok);
+        }
+        return widgetService.getWidgetDataReactive(request)
+                // The format parameter is echoed in the negotiated content type, JSON or CBOR alike
+                .map(response -> ResponseEntity.ok()
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .body(response.asColumnar()));
     }
 
     // Widget Library endpoint - Returns widgets with usage information
@@ -178,6 +218,18 @@ public class WidgetController {
     }
 
 
+    private static boolean acceptsColumnar(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> "columnar".equalsIgnoreCase(mediaType.getParameter(FORMAT_PARAMETER)));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
     @PostMapping("/generate-query")
     public ResponseEntity<String> generateSqlQuery(@RequestBody WidgetDTO widgetDTO) {
         // Log the received DTO for debugging
@@ -0,0 +1,53 @@
+package com.finzly.bankos.dashboard.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payment change event published by payment-service whenever a payment is created or updated.
+ * Carries the payment state before and after the change so that aggregates can be adjusted
+ * additively, independent of the order in which versions are delivered.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PaymentChangeEvent {
+
+    private String tenant;
+
+    private String paymentId;
+
+    private Long version;
+
+    private String changeType; // CREATED, UPDATED, DELETED
+
+    private PaymentSnapshot before; // null for newly created payments
+
+    private PaymentSnapshot after;  // null for deleted payments
+
+    private LocalDateTime eventDateTime;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PaymentSnapshot {
+        private String paymentStatus;
+        private String deliveryMethod;
+        private String channel;
+        private String currency;
+        private String ioType;
+        private BigDecimal senderAmount;
+        private LocalDateTime createdDateTime;
+        private LocalDateTime updatedDateTime;
+    }
+}
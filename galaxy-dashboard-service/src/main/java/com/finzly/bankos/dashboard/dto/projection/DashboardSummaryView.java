@@ -0,0 +1,35 @@
+package com.finzly.bankos.dashboard.dto.projection;
+
+import com.finzly.bankos.dashboard.entity.Dashboard;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a dashboard needed by the dashboard selector, read without hydrating the entity.
+ */
+public interface DashboardSummaryView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Dashboard.ViewerType getViewerType();
+
+    Dashboard.EditorType getEditorType();
+
+    Dashboard.DashboardStatus getStatus();
+
+    Boolean getIsSystemDashboard();
+
+    Boolean getIsActive();
+
+    Boolean getIsDefault();
+
+    String getCreatedBy();
+
+    LocalDateTime getCreatedDateTime();
+
+    LocalDateTime getUpdatedDateTime();
+}
@@ -0,0 +1,11 @@
+package com.finzly.bankos.dashboard.dto.projection;
+
+/**
+ * Number of active widgets placed on a dashboard.
+ */
+public interface DashboardWidgetCountView {
+
+    Long getDashboardId();
+
+    Long getWidgetCount();
+}
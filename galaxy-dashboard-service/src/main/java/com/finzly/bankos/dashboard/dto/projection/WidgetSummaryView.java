@@ -0,0 +1,29 @@
+package com.finzly.bankos.dashboard.dto.projection;
+
+import com.finzly.bankos.dashboard.entity.Widget;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a widget needed by the widget library; the JSON query and config columns are never read.
+ */
+public interface WidgetSummaryView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Widget.ChartType getChartType();
+
+    String getDataSource();
+
+    Integer getRefreshInterval();
+
+    String getCreatedBy();
+
+    LocalDateTime getCreatedDateTime();
+
+    LocalDateTime getUpdatedDateTime();
+}
@@ -0,0 +1,15 @@
+package com.finzly.bankos.dashboard.dto.projection;
+
+/**
+ * One active placement of a widget on a dashboard, read without loading either entity.
+ */
+public interface WidgetUsageView {
+
+    Long getWidgetId();
+
+    Long getDashboardId();
+
+    String getDashboardName();
+
+    String getDashboardDescription();
+}
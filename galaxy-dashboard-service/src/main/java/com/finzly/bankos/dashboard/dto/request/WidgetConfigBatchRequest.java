@@ -0,0 +1,23 @@
+package com.finzly.bankos.dashboard.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for executing several widget configurations on an external service in one call.
+ * Results are returned per item, in the same order, see WidgetConfigBatchResponse.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetConfigBatchRequest {
+
+    @JsonProperty("items")
+    private List<WidgetConfigRequest> items;
+}
@@ -0,0 +1,114 @@
+package com.finzly.bankos.dashboard.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.finzly.bankos.dashboard.aggregate.WidgetResultSet;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar form of label -> value widget data: {labels: [...], series: [{name, values: [...]}]}.
+ * Values are held in primitive arrays in label order, integral series as long[] and all others as double[],
+ * so charts can bind labels and values directly without re-shaping an object.
+ */
+@Getter
+public class ColumnarWidgetData {
+
+    private static final String DEFAULT_SERIES_NAME = "value";
+
+    @JsonProperty("labels")
+    private final List<String> labels;
+
+    @JsonProperty("series")
+    private final List<Series> series;
+
+    private ColumnarWidgetData(List<String> labels, List<Series> series) {
+        this.labels = labels;
+        this.series = series;
+    }
+
+    /**
+     * Converts label -> number data into a single series named after the first measure.
+     * @return The columnar data, or null if the data is not a map of numbers
+     */
+    public static ColumnarWidgetData from(Object data, List<String> measures) {
+        if (data instanceof WidgetResultSet result) {
+            return from(result);
+        }
+        if (!(data instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> values = (Map<?, ?>) data;
+        boolean integral = true;
+        for (Object value : values.values()) {
+            if (!(value instanceof Number)) {
+                return null;
+            }
+            integral &= value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+        }
+
+        List<String> labels = new ArrayList<>(values.size());
+        long[] longValues = integral ? new long[values.size()] : null;
+        double[] doubleValues = integral ? null : new double[values.size()];
+        int i = 0;
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            labels.add(String.valueOf(entry.getKey()));
+            Number value = (Number) entry.getValue();
+            if (integral) {
+                longValues[i++] = value.longValue();
+            } else {
+                doubleValues[i++] = value.doubleValue();
+            }
+        }
+
+        String name = measures != null && !measures.isEmpty() ? measures.get(0) : DEFAULT_SERIES_NAME;
+        Series series = integral ? Series.ofLongs(name, longValues) : Series.ofDoubles(name, doubleValues);
+        return new ColumnarWidgetData(labels, List.of(series));
+    }
+
+    /**
+     * Takes labels and one series per measure straight from the result's columns; the value
+     * arrays are shared with the result, which never modifies them.
+     */
+    public static ColumnarWidgetData from(WidgetResultSet result) {
+        List<Series> series = new ArrayList<>(result.measureCount());
+        for (int measure = 0; measure < result.measureCount(); measure++) {
+            series.add(result.isIntegral(measure)
+                    ? Series.ofLongs(result.measureName(measure), result.longValues(measure))
+                    : Series.ofDoubles(result.measureName(measure), result.doubleValues(measure)));
+        }
+        return new ColumnarWidgetData(result.labels(), series);
+    }
+
+    public static class Series {
+
+        @Getter
+        @JsonProperty("name")
+        private final String name;
+
+        private final long[] longValues;
+        private final double[] doubleValues;
+
+        private Series(String name, long[] longValues, double[] doubleValues) {
+            this.name = name;
+            this.longValues = longValues;
+            this.doubleValues = doubleValues;
+        }
+
+        public static Series ofLongs(String name, long[] values) {
+            return new Series(name, values, null);
+        }
+
+        public static Series ofDoubles(String name, double[] values) {
+            return new Series(name, null, values);
+        }
+
+        // Written as a plain JSON number array either way; counts keep their integer form
+        @JsonProperty("values")
+        public Object getValues() {
+            return longValues != null ? longValues : doubleValues;
+        }
+    }
+}
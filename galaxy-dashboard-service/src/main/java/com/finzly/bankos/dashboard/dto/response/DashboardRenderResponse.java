@@ -0,0 +1,17 @@
+package com.finzly.bankos.dashboard.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardRenderResponse {
+
+    // Dashboard metadata with its ordered widget layout; each widget carries its loaded data
+    private DashboardResponse dashboard;
+    private Integer failedWidgets;
+    private Boolean complete;
+    private Long renderTimeMs;
+}
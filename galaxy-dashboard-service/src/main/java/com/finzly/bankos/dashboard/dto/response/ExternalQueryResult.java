@@ -0,0 +1,28 @@
+package com.finzly.bankos.dashboard.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a SQL query executed on the external service: one map per row, keyed by column name
+ * in the order the service returned the columns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExternalQueryResult {
+
+    @JsonProperty("rows")
+    private List<Map<String, Object>> rows;
+
+    // Set when the service returned more rows than dashboard.external-service.max-rows
+    @JsonProperty("truncated")
+    private boolean truncated;
+}
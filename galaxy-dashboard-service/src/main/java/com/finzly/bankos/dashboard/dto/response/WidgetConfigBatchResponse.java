@@ -0,0 +1,45 @@
+package com.finzly.bankos.dashboard.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a widget configuration batch: one result per request item.
+ * A failing item does not fail the batch; it is reported with success=false and an error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetConfigBatchResponse {
+
+    @JsonProperty("results")
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        // Position of the item in the request
+        @JsonProperty("index")
+        private Integer index;
+
+        @JsonProperty("widgetId")
+        private Long widgetId;
+
+        @JsonProperty("success")
+        private Boolean success;
+
+        @JsonProperty("data")
+        private Object data;
+
+        @JsonProperty("error")
+        private String error;
+    }
+}
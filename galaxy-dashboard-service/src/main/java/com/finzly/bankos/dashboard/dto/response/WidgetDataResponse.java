@@ -1,5 +1,6 @@
 package com.finzly.bankos.dashboard.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,6 +40,11 @@ public class WidgetDataResponse {
     @JsonProperty("errorMessage")
     private String errorMessage;
     
+    // Set when a last known good result is served because fresh data could not be computed
+    @JsonProperty("stale")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stale;
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -81,6 +87,45 @@ public class WidgetDataResponse {
                 .build();
     }
     
+    /**
+     * Returns a copy of this response flagged as stale
+     */
+    public WidgetDataResponse asStale() {
+        return WidgetDataResponse.builder()
+                .widgetId(widgetId)
+                .dataSource(dataSource)
+                .chartType(chartType)
+                .data(data)
+                .metadata(metadata)
+                .lastUpdated(lastUpdated)
+                .success(success)
+                .errorMessage(errorMessage)
+                .stale(true)
+                .build();
+    }
+    
+    /**
+     * Returns a copy of this response with label -> value data in columnar form, or this response
+     * unchanged when its data has another shape
+     */
+    public WidgetDataResponse asColumnar() {
+        ColumnarWidgetData columnar = ColumnarWidgetData.from(data, metadata != null ? metadata.getMeasures() : null);
+        if (columnar == null) {
+            return this;
+        }
+        return WidgetDataResponse.builder()
+                .widgetId(widgetId)
+                .dataSource(dataSource)
+                .chartType(chartType)
+                .data(columnar)
+                .metadata(metadata)
+                .lastUpdated(lastUpdated)
+                .success(success)
+                .errorMessage(errorMessage)
+                .stale(stale)
+                .build();
+    }
+    
     /**
      * Creates an error response
      */
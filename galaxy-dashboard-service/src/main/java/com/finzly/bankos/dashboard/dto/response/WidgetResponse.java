@@ -6,7 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -29,8 +28,8 @@ public class WidgetResponse {
     private LocalDateTime createdDateTime;
     private LocalDateTime updatedDateTime;
     
-    // New field to include widget data
-    private Map<String, Object> widgetData;
+    // New field to include widget data: label -> value, a WidgetResultSet or a map
+    private Object widgetData;
     private Boolean dataLoadSuccess;
     private String dataLoadError;
 }
@@ -0,0 +1,34 @@
+package com.finzly.bankos.dashboard.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of an application/x-ndjson widget stream.
+ * A dashboard stream starts with a DASHBOARD event carrying the layout, every stream then has one
+ * WIDGET event per widget in completion order and ends with an END event.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WidgetStreamEvent {
+
+    public enum Type { DASHBOARD, WIDGET, END }
+
+    private Type type;
+
+    // Position of the widget in the listing or dashboard layout order
+    private Integer index;
+    private Integer total;
+
+    private DashboardResponse dashboard;
+    private WidgetResponse widget;
+    private DashboardWidgetResponse dashboardWidget;
+
+    private Integer failedWidgets;
+}
@@ -0,0 +1,67 @@
+package com.finzly.bankos.dashboard.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized payment rollup at (time bucket, dimension set) grain.
+ * Maintained in the background from payment change events and read by eligible payment widget queries.
+ */
+@Entity
+@Table(name = "payment_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "granularity", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "payment_status", nullable = false, length = 50)
+    private String paymentStatus;
+
+    @Column(name = "delivery_method", nullable = false, length = 50)
+    private String deliveryMethod;
+
+    @Column(name = "channel", nullable = false, length = 50)
+    private String channel;
+
+    @Column(name = "currency", nullable = false, length = 10)
+    private String currency;
+
+    @Column(name = "io_type", nullable = false, length = 10)
+    private String ioType;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Column(name = "sender_amount", nullable = false, precision = 24, scale = 4)
+    private BigDecimal senderAmount;
+
+    @Column(name = "updated_date_time", nullable = false)
+    private LocalDateTime updatedDateTime;
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+}
@@ -0,0 +1,39 @@
+package com.finzly.bankos.dashboard.entity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Categorical payment dimensions materialized in {@link PaymentRollup}, with the widget field
+ * names (display names and legacy aliases) that map onto each of them.
+ */
+public enum PaymentRollupDimension {
+
+    PAYMENT_STATUS("paymentStatus", "Payment Status", "PaymentStatus"),
+    DELIVERY_METHOD("deliveryMethod", "Delivery Method", "DeliveryMethod"),
+    CHANNEL("channel", "Channel"),
+    CURRENCY("currency", "Currency", "SenderCurrency"),
+    IO_TYPE("ioType", "IOType", "IoType");
+
+    private final String attribute;
+    private final List<String> fieldNames;
+
+    PaymentRollupDimension(String attribute, String... fieldNames) {
+        this.attribute = attribute;
+        this.fieldNames = List.of(fieldNames);
+    }
+
+    /**
+     * JPA attribute name on {@link PaymentRollup}
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public static Optional<PaymentRollupDimension> fromFieldName(String fieldName) {
+        return Arrays.stream(values())
+                .filter(dimension -> dimension.fieldNames.contains(fieldName))
+                .findFirst();
+    }
+}
@@ -0,0 +1,68 @@
+package com.finzly.bankos.dashboard.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A widget configuration waiting to be sent to payment-service.
+ * Rows are written in the same transaction as the widget change and delivered by the relay in
+ * WidgetConfigOutboxService; the idempotency key lets payment-service ignore a configuration it has
+ * already received.
+ */
+@Entity
+@Table(name = "widget_config_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WidgetConfigOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "widget_id", nullable = false)
+    private Long widgetId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64, unique = true)
+    private String idempotencyKey;
+
+    // WidgetConfigRequest as JSON, captured when the widget was saved
+    @Column(name = "payload", nullable = false, columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_date_time", nullable = false)
+    private LocalDateTime createdDateTime;
+
+    @Column(name = "sent_date_time")
+    private LocalDateTime sentDateTime;
+
+    public enum Status {
+        PENDING, SENT, SUPERSEDED, FAILED
+    }
+}
@@ -0,0 +1,11 @@
+package com.finzly.bankos.dashboard.exception;
+
+/**
+ * Thrown when an outbound call is rejected by its service's concurrency limit without being sent.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.finzly.bankos.dashboard.mapper;
 
+import com.finzly.bankos.dashboard.aggregate.WidgetResultSet;
+import com.finzly.bankos.dashboard.dto.projection.DashboardSummaryView;
 import com.finzly.bankos.dashboard.dto.request.CreateDashboardRequest;
 import com.finzly.bankos.dashboard.dto.request.UpdateDashboardRequest;
 import com.finzly.bankos.dashboard.dto.response.DashboardResponse;
@@ -7,6 +9,7 @@ import com.finzly.bankos.dashboard.dto.response.DashboardSummaryResponse;
 import com.finzly.bankos.dashboard.dto.response.DashboardWidgetResponse;
 import com.finzly.bankos.dashboard.dto.response.ChartConfigResponse;
 import com.finzly.bankos.dashboard.dto.response.DashboardDatasourceConfigResponse;
+import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
 import com.finzly.bankos.dashboard.dto.response.WidgetResponse;
 import com.finzly.bankos.dashboard.entity.Dashboard;
 import com.finzly.bankos.dashboard.entity.DashboardWidget;
@@ -15,7 +18,9 @@ import com.finzly.bankos.dashboard.entity.DashboardDatasourceConfig;
 import com.finzly.bankos.dashboard.entity.Widget;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -84,6 +89,24 @@ public class DashboardMapper {
         return response;
     }
 
+    public DashboardSummaryResponse toSummaryResponse(DashboardSummaryView dashboard, long widgetCount) {
+        DashboardSummaryResponse response = new DashboardSummaryResponse();
+        response.setId(dashboard.getId());
+        response.setName(dashboard.getName());
+        response.setDescription(dashboard.getDescription());
+        response.setViewerType(dashboard.getViewerType());
+        response.setEditorType(dashboard.getEditorType());
+        response.setStatus(dashboard.getStatus());
+        response.setIsSystemDashboard(dashboard.getIsSystemDashboard());
+        response.setIsActive(dashboard.getIsActive());
+        response.setIsDefault(dashboard.getIsDefault());
+        response.setCreatedBy(dashboard.getCreatedBy());
+        response.setCreatedDateTime(dashboard.getCreatedDateTime());
+        response.setUpdatedDateTime(dashboard.getUpdatedDateTime());
+        response.setTotalWidgets(widgetCount);
+        return response;
+    }
+
     public DashboardWidgetResponse toDashboardWidgetResponse(DashboardWidget dashboardWidget) {
         DashboardWidgetResponse response = new DashboardWidgetResponse();
         response.setId(dashboardWidget.getId());
@@ -177,6 +200,28 @@ public class DashboardMapper {
         return response;
     }
 
+    /**
+     * Copies loaded widget data, or the reason it failed to load, onto a widget response
+     */
+    public void applyWidgetData(WidgetResponse response, WidgetDataResponse widgetDataResponse) {
+        if (Boolean.TRUE.equals(widgetDataResponse.getSuccess())) {
+            Object data = widgetDataResponse.getData();
+            if (data instanceof WidgetResultSet || data instanceof Map) {
+                // Already label -> value; result sets are serialized straight from their columns
+                response.setWidgetData(data);
+            } else {
+                // If data is not a Map, wrap it
+                Map<String, Object> dataMap = new HashMap<>();
+                dataMap.put("data", data);
+                response.setWidgetData(dataMap);
+            }
+            response.setDataLoadSuccess(true);
+        } else {
+            response.setDataLoadSuccess(false);
+            response.setDataLoadError(widgetDataResponse.getErrorMessage());
+        }
+    }
+
     public List<WidgetResponse> toWidgetResponseList(List<Widget> widgets) {
         return widgets.stream()
                 .map(this::toWidgetResponse)
@@ -0,0 +1,74 @@
+package com.finzly.bankos.dashboard.messaging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory stand-in for SQS used for local runs and tests.
+ * Received messages are held in flight until deleted; {@link #requeueInFlight()} simulates an
+ * expired visibility timeout so redelivery and de-duplication can be exercised.
+ */
+public class InMemoryPaymentEventTransport implements PaymentEventTransport {
+
+    private final BlockingQueue<PaymentEventMessage> queue = new LinkedBlockingQueue<>();
+    private final Map<String, PaymentEventMessage> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Enqueues a raw JSON event body.
+     */
+    public void publish(String body) {
+        queue.add(new PaymentEventMessage(UUID.randomUUID().toString(), null, body));
+    }
+
+    @Override
+    public List<PaymentEventMessage> receive(int maxMessages, Duration waitTime) {
+        List<PaymentEventMessage> received = new ArrayList<>();
+        try {
+            PaymentEventMessage first = queue.poll(waitTime.toMillis(), TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return received;
+            }
+            received.add(first);
+            queue.drainTo(received, maxMessages - 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PaymentEventMessage> leased = new ArrayList<>(received.size());
+        for (PaymentEventMessage message : received) {
+            PaymentEventMessage lease = new PaymentEventMessage(message.getMessageId(), UUID.randomUUID().toString(), message.getBody());
+            inFlight.put(lease.getReceiptHandle(), lease);
+            leased.add(lease);
+        }
+        return leased;
+    }
+
+    @Override
+    public void delete(List<PaymentEventMessage> messages) {
+        messages.forEach(message -> inFlight.remove(message.getReceiptHandle()));
+    }
+
+    /**
+     * Puts every unacknowledged message back on the queue.
+     */
+    public void requeueInFlight() {
+        List<PaymentEventMessage> expired = new ArrayList<>(inFlight.values());
+        inFlight.clear();
+        queue.addAll(expired);
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
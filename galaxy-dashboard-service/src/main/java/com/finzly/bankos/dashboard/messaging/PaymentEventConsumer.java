@@ -0,0 +1,198 @@
+package com.finzly.bankos.dashboard.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finzly.bankos.dashboard.aggregate.PaymentAggregateStore;
+import com.finzly.bankos.dashboard.dto.event.PaymentChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batched consumer for payment change events.
+ * Long-polls the transport for up to 10 messages per receive, accumulates them into micro-batches,
+ * drops duplicates by tenant + payment id + version, applies the batch to the payment aggregates
+ * and acknowledges the whole batch with batch deletes. Each event's key is recorded as it is
+ * applied, so a batch that fails partway does not re-apply its applied events when redelivered.
+ */
+public class PaymentEventConsumer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentEventConsumer.class);
+
+    private static final int MAX_MESSAGES_PER_RECEIVE = 10;
+    private static final long ERROR_BACKOFF_MS = 1000;
+
+    private final PaymentEventTransport transport;
+    private final PaymentAggregateStore aggregateStore;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration maxBatchDelay;
+    private final Duration receiveWaitTime;
+    private final String defaultTenant;
+
+    // Recently applied event keys; bounded so redeliveries are caught without unbounded growth
+    private final Set<String> recentlyApplied;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PaymentEventConsumer(PaymentEventTransport transport,
+                                PaymentAggregateStore aggregateStore,
+                                ObjectMapper objectMapper,
+                                int batchSize,
+                                Duration maxBatchDelay,
+                                Duration receiveWaitTime,
+                                int dedupeCapacity,
+                                String defaultTenant) {
+        this.transport = transport;
+        this.aggregateStore = aggregateStore;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.receiveWaitTime = receiveWaitTime;
+        this.defaultTenant = defaultTenant;
+        this.recentlyApplied = Collections.synchronizedSet(Collections.newSetFromMap(
+                new LinkedHashMap<String, Boolean>(16, 0.75f, false) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > dedupeCapacity;
+                    }
+                }));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::pollLoop, "payment-event-consumer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Payment event consumer started (batchSize={}, maxBatchDelay={})", batchSize, maxBatchDelay);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(receiveWaitTime.toMillis() + maxBatchDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Payment event consumer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        List<PaymentEventMessage> pending = new ArrayList<>();
+        long batchStartedAt = 0;
+
+        while (running) {
+            try {
+                // Long-poll while idle; once a batch is open only wait for what is left of its delay budget
+                Duration waitTime = pending.isEmpty()
+                        ? receiveWaitTime
+                        : Duration.ofMillis(Math.max(0, maxBatchDelay.toMillis() - (System.currentTimeMillis() - batchStartedAt)));
+
+                List<PaymentEventMessage> received = transport.receive(MAX_MESSAGES_PER_RECEIVE, waitTime);
+                if (pending.isEmpty() && !received.isEmpty()) {
+                    batchStartedAt = System.currentTimeMillis();
+                }
+                pending.addAll(received);
+
+                boolean batchFull = pending.size() >= batchSize;
+                boolean batchDue = !pending.isEmpty() && System.currentTimeMillis() - batchStartedAt >= maxBatchDelay.toMillis();
+                if (batchFull || batchDue) {
+                    processBatch(pending);
+                    pending.clear();
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                // Messages in the failed batch are not deleted and will be redelivered
+                log.error("Error consuming payment events: {}", e.getMessage(), e);
+                pending.clear();
+                sleepQuietly(ERROR_BACKOFF_MS);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                processBatch(pending);
+            } catch (Exception e) {
+                log.warn("Failed to flush {} payment events on shutdown: {}", pending.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Parses, de-duplicates and applies one micro-batch event by event, then deletes the handled messages.
+     * Unreadable messages are left on the queue so the redrive policy can move them to the DLQ.
+     *
+     * @return number of events applied to the aggregates
+     */
+    int processBatch(List<PaymentEventMessage> messages) {
+        List<PaymentEventMessage> handled = new ArrayList<>();
+        int applied = 0;
+
+        for (PaymentEventMessage message : messages) {
+            PaymentChangeEvent event;
+            try {
+                event = objectMapper.readValue(message.getBody(), PaymentChangeEvent.class);
+            } catch (Exception e) {
+                log.warn("Skipping unreadable payment event message {}: {}", message.getMessageId(), e.getMessage());
+                continue;
+            }
+
+            if (event.getPaymentId() == null || event.getVersion() == null) {
+                log.warn("Skipping payment event message {} without payment id or version", message.getMessageId());
+                continue;
+            }
+            if (event.getTenant() == null || event.getTenant().isBlank()) {
+                event.setTenant(defaultTenant);
+            }
+
+            // Checked and recorded in one step before applying; the key is only released if the apply fails
+            String key = event.getTenant() + ":" + event.getPaymentId() + ":" + event.getVersion();
+            if (recentlyApplied.add(key)) {
+                try {
+                    aggregateStore.apply(event);
+                } catch (RuntimeException e) {
+                    recentlyApplied.remove(key);
+                    throw e;
+                }
+                applied++;
+            }
+            handled.add(message);
+        }
+
+        if (!handled.isEmpty()) {
+            transport.delete(handled);
+        }
+
+        log.debug("Processed payment event batch: received={}, applied={}, duplicates={}",
+                messages.size(), applied, handled.size() - applied);
+        return applied;
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.finzly.bankos.dashboard.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Raw message received from a payment event transport.
+ * The receipt handle is what the transport needs to acknowledge (delete) the message.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentEventMessage {
+    private String messageId;
+    private String receiptHandle;
+    private String body;
+}
@@ -0,0 +1,24 @@
+package com.finzly.bankos.dashboard.messaging;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Source of payment change event messages consumed by {@link PaymentEventConsumer}.
+ * Implementations:
+ * - SqsPaymentEventTransport (AWS SQS, used in deployed environments)
+ * - InMemoryPaymentEventTransport (local runs and tests)
+ */
+public interface PaymentEventTransport {
+
+    /**
+     * Receives up to {@code maxMessages} messages, waiting at most {@code waitTime} for the first one.
+     * Received messages stay invisible to other consumers until they are deleted or their lease expires.
+     */
+    List<PaymentEventMessage> receive(int maxMessages, Duration waitTime);
+
+    /**
+     * Acknowledges processed messages so they are not redelivered.
+     */
+    void delete(List<PaymentEventMessage> messages);
+}
@@ -0,0 +1,85 @@
+package com.finzly.bankos.dashboard.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SQS backed transport. Uses long polling for receives and batch deletes for acknowledgements.
+ */
+public class SqsPaymentEventTransport implements PaymentEventTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(SqsPaymentEventTransport.class);
+
+    // SQS limits for ReceiveMessage / DeleteMessageBatch
+    private static final int MAX_MESSAGES_PER_CALL = 10;
+    private static final int MAX_WAIT_SECONDS = 20;
+
+    private final SqsClient sqsClient;
+    private final String queueName;
+    private volatile String queueUrl;
+
+    public SqsPaymentEventTransport(SqsClient sqsClient, String queueName) {
+        this.sqsClient = sqsClient;
+        this.queueName = queueName;
+    }
+
+    @Override
+    public List<PaymentEventMessage> receive(int maxMessages, Duration waitTime) {
+        int waitSeconds = (int) Math.min(Math.max(waitTime.toSeconds(), 0), MAX_WAIT_SECONDS);
+
+        return sqsClient.receiveMessage(ReceiveMessageRequest.builder()
+                        .queueUrl(getQueueUrl())
+                        .maxNumberOfMessages(Math.min(maxMessages, MAX_MESSAGES_PER_CALL))
+                        .waitTimeSeconds(waitSeconds)
+                        .build())
+                .messages()
+                .stream()
+                .map(message -> new PaymentEventMessage(message.messageId(), message.receiptHandle(), message.body()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void delete(List<PaymentEventMessage> messages) {
+        for (int from = 0; from < messages.size(); from += MAX_MESSAGES_PER_CALL) {
+            List<PaymentEventMessage> chunk = messages.subList(from, Math.min(from + MAX_MESSAGES_PER_CALL, messages.size()));
+
+            List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                        .id(String.valueOf(i))
+                        .receiptHandle(chunk.get(i).getReceiptHandle())
+                        .build());
+            }
+
+            DeleteMessageBatchResponse response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                    .queueUrl(getQueueUrl())
+                    .entries(entries)
+                    .build());
+
+            if (response.hasFailed() && !response.failed().isEmpty()) {
+                // Undeleted messages are redelivered after the visibility timeout and skipped by de-duplication
+                log.warn("Failed to delete {} of {} payment event messages from {}: {}",
+                        response.failed().size(), entries.size(), queueName, response.failed().get(0).message());
+            }
+        }
+    }
+
+    private String getQueueUrl() {
+        if (queueUrl == null) {
+            queueUrl = sqsClient.getQueueUrl(GetQueueUrlRequest.builder().queueName(queueName).build()).queueUrl();
+            log.info("Resolved payment event queue {} to {}", queueName, queueUrl);
+        }
+        return queueUrl;
+    }
+}
@@ -1,5 +1,6 @@
 package com.finzly.bankos.dashboard.repository;
 
+import com.finzly.bankos.dashboard.dto.projection.DashboardSummaryView;
 import com.finzly.bankos.dashboard.entity.Dashboard;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -27,6 +28,17 @@ public interface DashboardRepository extends JpaRepository<Dashboard, Long> {
            "(p.userId = :userId OR p.departmentId = :departmentId) AND p.permissionType = 'VIEWER'))")
     List<Dashboard> findVisibleDashboards(@Param("userId") String userId, @Param("departmentId") String departmentId);
 
+    @Query("SELECT d.id AS id, d.name AS name, d.description AS description, d.viewerType AS viewerType, " +
+           "d.editorType AS editorType, d.status AS status, d.isSystemDashboard AS isSystemDashboard, " +
+           "d.isActive AS isActive, d.isDefault AS isDefault, d.createdBy AS createdBy, " +
+           "d.createdDateTime AS createdDateTime, d.updatedDateTime AS updatedDateTime " +
+           "FROM Dashboard d WHERE d.isActive = true AND " +
+           "(d.viewerType = 'GLOBAL' OR " +
+           "(d.viewerType = 'PRIVATE' AND d.createdBy = :userId) OR " +
+           "EXISTS (SELECT 1 FROM DashboardUserPermission p WHERE p.dashboard = d AND " +
+           "(p.userId = :userId OR p.departmentId = :departmentId) AND p.permissionType = 'VIEWER'))")
+    List<DashboardSummaryView> findVisibleDashboardSummaries(@Param("userId") String userId, @Param("departmentId") String departmentId);
+
     @Query("SELECT d FROM Dashboard d WHERE d.isActive = true AND " +
            "(d.editorType = 'GLOBAL' OR " +
            "(d.editorType = 'PRIVATE' AND d.createdBy = :userId) OR " +
@@ -1,13 +1,18 @@
 package com.finzly.bankos.dashboard.repository;
 
+import com.finzly.bankos.dashboard.dto.projection.DashboardWidgetCountView;
+import com.finzly.bankos.dashboard.dto.projection.WidgetUsageView;
 import com.finzly.bankos.dashboard.entity.DashboardWidget;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DashboardWidgetRepository extends JpaRepository<DashboardWidget, Long> {
@@ -20,6 +25,8 @@ public interface DashboardWidgetRepository extends JpaRepository<DashboardWidget
 
     Optional<DashboardWidget> findByDashboardIdAndWidgetIdAndIsActiveTrue(Long dashboardId, Long widgetId);
 
+    // Dashboard and widget are fetched in the same select so mapping the layout issues no per-row queries
+    @EntityGraph(attributePaths = {"dashboard", "widget"})
     @Query("SELECT dw FROM DashboardWidget dw WHERE dw.dashboard.id = :dashboardId AND dw.isActive = true ORDER BY dw.widgetOrder ASC")
     List<DashboardWidget> findByDashboardIdOrderByWidgetOrder(@Param("dashboardId") Long dashboardId);
 
@@ -32,6 +39,17 @@ public interface DashboardWidgetRepository extends JpaRepository<DashboardWidget
 
     void deleteByWidgetId(Long widgetId);
 
+    @Query("SELECT dw.widget.id AS widgetId, d.id AS dashboardId, d.name AS dashboardName, d.description AS dashboardDescription " +
+           "FROM DashboardWidget dw JOIN dw.dashboard d WHERE dw.isActive = true AND dw.widget.id IN :widgetIds")
+    List<WidgetUsageView> findUsagesByWidgetIds(@Param("widgetIds") Collection<Long> widgetIds);
+
+    @Query("SELECT dw.widget.id FROM DashboardWidget dw WHERE dw.dashboard.id = :dashboardId AND dw.isActive = true")
+    Set<Long> findWidgetIdsByDashboardId(@Param("dashboardId") Long dashboardId);
+
+    @Query("SELECT dw.dashboard.id AS dashboardId, COUNT(dw) AS widgetCount FROM DashboardWidget dw " +
+           "WHERE dw.dashboard.id IN :dashboardIds AND dw.isActive = true GROUP BY dw.dashboard.id")
+    List<DashboardWidgetCountView> countWidgetsByDashboardIds(@Param("dashboardIds") Collection<Long> dashboardIds);
+
     @Query("SELECT COUNT(dw) FROM DashboardWidget dw WHERE dw.dashboard.id = :dashboardId AND dw.isActive = true")
     long countWidgetsByDashboardId(@Param("dashboardId") Long dashboardId);
 
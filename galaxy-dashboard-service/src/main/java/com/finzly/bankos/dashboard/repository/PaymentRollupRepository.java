@@ -0,0 +1,33 @@
+package com.finzly.bankos.dashboard.repository;
+
+import com.finzly.bankos.dashboard.entity.PaymentRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface PaymentRollupRepository extends JpaRepository<PaymentRollup, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO payment_rollup (granularity, bucket_start, payment_status, delivery_method, channel, " +
+            "currency, io_type, payment_count, sender_amount, updated_date_time) " +
+            "VALUES (:granularity, :bucketStart, :paymentStatus, :deliveryMethod, :channel, :currency, :ioType, " +
+            ":paymentCount, :senderAmount, NOW()) " +
+            "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), " +
+            "sender_amount = sender_amount + VALUES(sender_amount), updated_date_time = NOW()",
+            nativeQuery = true)
+    int addToRollup(@Param("granularity") String granularity,
+                    @Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("paymentStatus") String paymentStatus,
+                    @Param("deliveryMethod") String deliveryMethod,
+                    @Param("channel") String channel,
+                    @Param("currency") String currency,
+                    @Param("ioType") String ioType,
+                    @Param("paymentCount") long paymentCount,
+                    @Param("senderAmount") BigDecimal senderAmount);
+}
@@ -0,0 +1,56 @@
+package com.finzly.bankos.dashboard.repository;
+
+import com.finzly.bankos.dashboard.entity.WidgetConfigOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WidgetConfigOutboxRepository extends JpaRepository<WidgetConfigOutbox, Long> {
+
+    List<WidgetConfigOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            WidgetConfigOutbox.Status status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims a due row by moving its next attempt to the end of the claim lease; only succeeds if no
+     * other relay claimed it since it was read
+     * @return 1 if the row was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE WidgetConfigOutbox o SET o.nextAttemptAt = :leaseUntil " +
+           "WHERE o.id = :id AND o.status = :pending AND o.nextAttemptAt = :dueAt")
+    int claim(@Param("id") Long id,
+              @Param("pending") WidgetConfigOutbox.Status pending,
+              @Param("dueAt") LocalDateTime dueAt,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Writes the outcome of a delivery attempt, unless the row was superseded meanwhile
+     * @return 1 if the outcome was written, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE WidgetConfigOutbox o SET o.status = :status, o.attempts = :attempts, " +
+           "o.nextAttemptAt = :nextAttemptAt, o.lastError = :lastError, o.sentDateTime = :sentDateTime " +
+           "WHERE o.id = :id AND o.status = :pending")
+    int recordAttempt(@Param("id") Long id,
+                      @Param("pending") WidgetConfigOutbox.Status pending,
+                      @Param("status") WidgetConfigOutbox.Status status,
+                      @Param("attempts") Integer attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError,
+                      @Param("sentDateTime") LocalDateTime sentDateTime);
+
+    @Modifying
+    @Query("UPDATE WidgetConfigOutbox o SET o.status = :superseded " +
+           "WHERE o.widgetId = :widgetId AND o.id < :id AND o.status = :pending")
+    int supersedeOlder(@Param("widgetId") Long widgetId,
+                       @Param("id") Long id,
+                       @Param("pending") WidgetConfigOutbox.Status pending,
+                       @Param("superseded") WidgetConfigOutbox.Status superseded);
+}
@@ -1,6 +1,9 @@
 package com.finzly.bankos.dashboard.repository;
 
+import com.finzly.bankos.dashboard.dto.projection.WidgetSummaryView;
 import com.finzly.bankos.dashboard.entity.Widget;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -33,6 +36,34 @@ public interface WidgetRepository extends JpaRepository<Widget, Long> {
            "(p.userId = :userId OR p.departmentId = :departmentId) AND p.permissionType = 'VIEWER'))))")
     List<Widget> findVisibleWidgets(@Param("userId") String userId, @Param("departmentId") String departmentId);
 
+    @Query("SELECT w.id AS id, w.name AS name, w.description AS description, w.chartType AS chartType, " +
+           "w.dataSource AS dataSource, w.refreshInterval AS refreshInterval, w.createdBy AS createdBy, " +
+           "w.createdDateTime AS createdDateTime, w.updatedDateTime AS updatedDateTime " +
+           "FROM Widget w WHERE w.isActive = true AND " +
+           "(w.createdBy = :userId OR " +
+           "EXISTS (SELECT 1 FROM DashboardWidget dw JOIN dw.dashboard d WHERE dw.widget = w AND " +
+           "(d.viewerType = 'GLOBAL' OR " +
+           "(d.viewerType = 'PRIVATE' AND d.createdBy = :userId) OR " +
+           "EXISTS (SELECT 1 FROM DashboardUserPermission p WHERE p.dashboard = d AND " +
+           "(p.userId = :userId OR p.departmentId = :departmentId) AND p.permissionType = 'VIEWER'))))")
+    List<WidgetSummaryView> findVisibleWidgetSummaries(@Param("userId") String userId, @Param("departmentId") String departmentId);
+
+    @Query(value = "SELECT w FROM Widget w WHERE w.isActive = true AND " +
+           "(w.createdBy = :userId OR " +
+           "EXISTS (SELECT 1 FROM DashboardWidget dw JOIN dw.dashboard d WHERE dw.widget = w AND " +
+           "(d.viewerType = 'GLOBAL' OR " +
+           "(d.viewerType = 'PRIVATE' AND d.createdBy = :userId) OR " +
+           "EXISTS (SELECT 1 FROM DashboardUserPermission p WHERE p.dashboard = d AND " +
+           "(p.userId = :userId OR p.departmentId = :departmentId) AND p.permissionType = 'VIEWER'))))",
+           countQuery = "SELECT COUNT(w) FROM Widget w WHERE w.isActive = true AND " +
+           "(w.createdBy = :userId OR " +
+           "EXISTS (SELECT 1 FROM DashboardWidget dw JOIN dw.dashboard d WHERE dw.widget = w AND " +
+           "(d.viewerType = 'GLOBAL' OR " +
+           "(d.viewerType = 'PRIVATE' AND d.createdBy = :userId) OR " +
+           "EXISTS (SELECT 1 FROM DashboardUserPermission p WHERE p.dashboard = d AND " +
+           "(p.userId = :userId OR p.departmentId = :departmentId) AND p.permissionType = 'VIEWER'))))")
+    Page<Widget> findVisibleWidgets(@Param("userId") String userId, @Param("departmentId") String departmentId, Pageable pageable);
+
     @Query("SELECT COUNT(w) FROM Widget w WHERE w.isActive = true")
     long countActiveWidgets();
 }
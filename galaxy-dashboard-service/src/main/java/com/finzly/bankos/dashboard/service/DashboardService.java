@@ -1,25 +1,43 @@
 package com.finzly.bankos.dashboard.service;
 
+import com.finzly.bankos.dashboard.config.TenantScope;
+import com.finzly.bankos.dashboard.dto.projection.DashboardSummaryView;
+import com.finzly.bankos.dashboard.dto.projection.DashboardWidgetCountView;
 import com.finzly.bankos.dashboard.dto.request.AddWidgetToDashboardRequest;
 import com.finzly.bankos.dashboard.dto.request.CreateDashboardRequest;
 import com.finzly.bankos.dashboard.dto.request.UpdateDashboardRequest;
 import com.finzly.bankos.dashboard.dto.request.UpdateDashboardWidgetLayoutRequest;
+import com.finzly.bankos.dashboard.dto.response.DashboardRenderResponse;
 import com.finzly.bankos.dashboard.dto.response.DashboardResponse;
 import com.finzly.bankos.dashboard.dto.response.DashboardSummaryResponse;
 import com.finzly.bankos.dashboard.dto.response.DashboardWidgetResponse;
+import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
+import com.finzly.bankos.dashboard.dto.response.WidgetStreamEvent;
 import com.finzly.bankos.dashboard.entity.*;
 import com.finzly.bankos.dashboard.exception.ResourceNotFoundException;
 import com.finzly.bankos.dashboard.exception.UnauthorizedException;
 import com.finzly.bankos.dashboard.mapper.DashboardMapper;
 import com.finzly.bankos.dashboard.repository.*;
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,20 +52,47 @@ public class DashboardService {
     private final DashboardWidgetRepository dashboardWidgetRepository;
     private final WidgetRepository widgetRepository;
     private final DashboardMapper dashboardMapper;
+    private final WidgetService widgetService;
+    private final WidgetDataLoader widgetDataLoader;
+    private final Scheduler widgetDataScheduler;
+    private final TransactionTemplate transactionTemplate;
 
+    // @Transactional does not apply to calls from within this class, so internal layout reads use this
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${dashboard.render.deadline-ms:5000}")
+    private long renderDeadlineMs;
+
+    @Value("${dashboard.widget-data.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @PostConstruct
+    void initReadOnlyTransactionTemplate() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Transactional(readOnly = true)
     public List<DashboardSummaryResponse> getAllDashboards(String userId, String departmentId) {
         log.info("Getting all dashboards for user: {} and department: {}", userId, departmentId);
         
-        List<Dashboard> dashboards = dashboardRepository.findVisibleDashboards(userId, departmentId);
+        List<DashboardSummaryView> dashboards = dashboardRepository.findVisibleDashboardSummaries(userId, departmentId);
+        if (dashboards.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Count active widgets of all visible dashboards in one grouped query
+        Map<Long, Long> widgetCounts = dashboardWidgetRepository
+                .countWidgetsByDashboardIds(dashboards.stream().map(DashboardSummaryView::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(DashboardWidgetCountView::getDashboardId, DashboardWidgetCountView::getWidgetCount));
         
         return dashboards.stream()
-                .map(dashboard -> {
-                                         long widgetCount = dashboardWidgetRepository.countWidgetsByDashboardId(dashboard.getId());
-                    return dashboardMapper.toSummaryResponse(dashboard, widgetCount);
-                })
+                .map(dashboard -> dashboardMapper.toSummaryResponse(dashboard, widgetCounts.getOrDefault(dashboard.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public DashboardResponse getDashboardById(Long dashboardId, String userId, String departmentId) {
         log.info("Getting dashboard by id: {} for user: {}", dashboardId, userId);
         
@@ -200,6 +245,146 @@ public class DashboardService {
         return dashboardMapper.toDashboardWidgetResponse(savedDashboardWidget);
     }
 
+    /**
+     * Returns the dashboard layout together with the data of every widget on it, without blocking.
+     * The layout and the widget data are loaded on the widget data scheduler, at most
+     * dashboard.widget-data.max-concurrency widgets at a time, and no thread waits for them. Widgets
+     * that fail or are still loading at the render deadline are returned with dataLoadSuccess=false
+     * and the dashboard is flagged as incomplete. Runs without a transaction so no connection is
+     * held while widget data loads; the layout is read in a short read-only transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<DashboardRenderResponse> renderDashboardReactive(Long dashboardId, String userId, String departmentId) {
+        log.info("Rendering dashboard {} for user: {}", dashboardId, userId);
+        long startTime = System.currentTimeMillis();
+        long deadlineAt = System.nanoTime() + Duration.ofMillis(renderDeadlineMs).toNanos();
+        String tenant = TenantContext.getCurrentTenant();
+
+        return Mono.fromCallable(() -> TenantScope.call(tenant, () -> readRenderLayout(dashboardId, userId, departmentId)))
+                .subscribeOn(widgetDataScheduler)
+                .flatMap(layout -> Flux.fromIterable(layout.getWidgets())
+                        .flatMapSequential(widget -> withRenderDeadline(widget, tenant, deadlineAt), Math.max(1, maxConcurrency))
+                        .collectList()
+                        .map(widgetData -> toRenderResponse(layout, widgetData, startTime)));
+    }
+
+    private Mono<WidgetDataResponse> withRenderDeadline(Widget widget, String tenant, long deadlineAt) {
+        // The remaining time is taken when the widget starts loading, so queued widgets share one deadline.
+        // The tenant is passed on explicitly: this runs after the layout load has left its tenant scope.
+        return Mono.defer(() -> widgetService.getWidgetDataReactive(widget, tenant)
+                        .timeout(Duration.ofNanos(Math.max(0, deadlineAt - System.nanoTime()))))
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("Widget {} data did not load within {} ms", widget.getId(), renderDeadlineMs);
+                    return Mono.just(WidgetDataResponse.error(widget.getId(), widget.getDataSource(),
+                            "Widget data did not load within " + renderDeadlineMs + " ms"));
+                })
+                .onErrorResume(e -> {
+                    log.error("Error loading data for widget {}: {}", widget.getId(), e.getMessage());
+                    return Mono.just(WidgetDataResponse.error(widget.getId(), widget.getDataSource(),
+                            "Error loading widget data: " + e.getMessage()));
+                });
+    }
+
+    private DashboardRenderResponse toRenderResponse(RenderLayout layout, List<WidgetDataResponse> widgetData, long startTime) {
+        List<DashboardWidgetResponse> widgetResponses = layout.getDashboard().getWidgets();
+        int failedWidgets = 0;
+        for (int i = 0; i < widgetResponses.size(); i++) {
+            dashboardMapper.applyWidgetData(widgetResponses.get(i).getWidget(), widgetData.get(i));
+            if (!Boolean.TRUE.equals(widgetData.get(i).getSuccess())) {
+                failedWidgets++;
+            }
+        }
+
+        long renderTime = System.currentTimeMillis() - startTime;
+        log.info("Rendered dashboard {} with {} widgets ({} failed) in {} ms",
+                layout.getDashboard().getId(), widgetResponses.size(), failedWidgets, renderTime);
+        return new DashboardRenderResponse(layout.getDashboard(), failedWidgets, failedWidgets == 0, renderTime);
+    }
+
+    /**
+     * Checks view permission and loads the dashboard with its ordered widget layout, without widget data.
+     * Split from streaming so permission and not-found errors surface before a stream is opened.
+     */
+    @Transactional(readOnly = true)
+    public RenderLayout loadRenderLayout(Long dashboardId, String userId, String departmentId) {
+        if (!dashboardRepository.hasViewPermission(dashboardId, userId, departmentId)) {
+            throw new UnauthorizedException("User does not have permission to view this dashboard");
+        }
+
+        Dashboard dashboard = dashboardRepository.findByIdAndIsActiveTrue(dashboardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Dashboard not found with id: " + dashboardId));
+
+        List<DashboardWidget> dashboardWidgets = dashboardWidgetRepository
+                .findByDashboardIdOrderByWidgetOrder(dashboardId);
+        dashboard.setDashboardWidgets(dashboardWidgets);
+
+        List<DashboardWidgetResponse> widgetResponses = new ArrayList<>(dashboardWidgets.size());
+        List<Widget> widgets = new ArrayList<>(dashboardWidgets.size());
+        for (DashboardWidget dashboardWidget : dashboardWidgets) {
+            DashboardWidgetResponse widgetResponse = dashboardMapper.toDashboardWidgetResponse(dashboardWidget);
+            widgetResponse.setWidget(dashboardMapper.toWidgetResponse(dashboardWidget.getWidget()));
+            widgetResponses.add(widgetResponse);
+            widgets.add(dashboardWidget.getWidget());
+        }
+
+        DashboardResponse response = dashboardMapper.toResponse(dashboard);
+        response.setWidgets(widgetResponses);
+        return new RenderLayout(response, widgets);
+    }
+
+    private RenderLayout readRenderLayout(Long dashboardId, String userId, String departmentId) {
+        return readOnlyTransactionTemplate.execute(status -> loadRenderLayout(dashboardId, userId, departmentId));
+    }
+
+    /**
+     * Streams a loaded dashboard layout followed by each widget as soon as its data is ready.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamDashboard(RenderLayout layout, Consumer<WidgetStreamEvent> sink) {
+        List<DashboardWidgetResponse> widgetResponses = layout.getDashboard().getWidgets();
+        int total = widgetResponses.size();
+        log.info("Streaming dashboard {} with {} widgets", layout.getDashboard().getId(), total);
+
+        // The layout goes first so the client can place every widget before any data arrives
+        sink.accept(WidgetStreamEvent.builder()
+                .type(WidgetStreamEvent.Type.DASHBOARD)
+                .total(total)
+                .dashboard(layout.getDashboard())
+                .build());
+
+        int[] failedWidgets = {0};
+        widgetDataLoader.loadEach(layout.getWidgets(), widgetService::getWidgetDataForWidget,
+                Duration.ofMillis(renderDeadlineMs), (index, widgetData) -> {
+                    DashboardWidgetResponse widgetResponse = widgetResponses.get(index);
+                    dashboardMapper.applyWidgetData(widgetResponse.getWidget(), widgetData);
+                    if (!Boolean.TRUE.equals(widgetData.getSuccess())) {
+                        failedWidgets[0]++;
+                    }
+                    sink.accept(WidgetStreamEvent.builder()
+                            .type(WidgetStreamEvent.Type.WIDGET)
+                            .index(index)
+                            .total(total)
+                            .dashboardWidget(widgetResponse)
+                            .build());
+                });
+
+        sink.accept(WidgetStreamEvent.builder()
+                .type(WidgetStreamEvent.Type.END)
+                .total(total)
+                .failedWidgets(failedWidgets[0])
+                .build());
+    }
+
+    /**
+     * A dashboard with its widget layout, and the widget entities to load data for in layout order
+     */
+    @lombok.Value
+    public static class RenderLayout {
+        DashboardResponse dashboard;
+        List<Widget> widgets;
+    }
+
+    @Transactional(readOnly = true)
     public List<DashboardWidgetResponse> getDashboardWidgets(Long dashboardId, String userId, String departmentId) {
         log.info("Getting widgets for dashboard {} by user: {}", dashboardId, userId);
         // TEMP: Permissions disabled for rapid development
@@ -2,6 +2,9 @@ package com.finzly.bankos.dashboard.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finzly.bankos.dashboard.aggregate.LabelDictionary;
+import com.finzly.bankos.dashboard.aggregate.LabelDictionaryRegistry;
+import com.finzly.bankos.dashboard.aggregate.WidgetResultSet;
 import com.finzly.bankos.dashboard.dto.request.WidgetDataRequest;
 import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
 import com.finzly.bankos.dashboard.entity.DashboardDatasourceConfig;
@@ -9,13 +12,15 @@ import com.finzly.bankos.dashboard.repository.DashboardDatasourceConfigRepositor
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service to handle payment dashboard data processing.
@@ -28,8 +33,18 @@ public class PaymentDashboardService {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentDashboardService.class);
     private final DashboardDatasourceConfigRepository datasourceConfigRepository;
+    private final PaymentRollupService paymentRollupService;
+    private final LabelDictionaryRegistry labelDictionaries;
     private final ObjectMapper objectMapper;
 
+    // Row creation timestamp used as the high-watermark for incremental refreshes
+    @Value("${dashboard.refresh.created-column:created_date_time}")
+    private String createdColumn;
+
+    // Row update timestamp used to detect in-place updates that a delta cannot account for
+    @Value("${dashboard.refresh.updated-column:updated_date_time}")
+    private String updatedColumn;
+
     /**
      * Executes the widget data request and returns formatted data
      * 
@@ -37,7 +52,73 @@ public class PaymentDashboardService {
      * @return WidgetDataResponse with processed data
      */
     public WidgetDataResponse execute(WidgetDataRequest request) {
-        log.info("Executing payment dashboard data request for widget: {}", request.getWidgetId());
+        return execute(request, null, null);
+    }
+
+    /**
+     * Executes the widget data request against only the rows created in (changedAfter, changedUpTo].
+     * With a previous watermark the result is a delta slice meant to be merged into an earlier result,
+     * which is only meaningful for additive measures (see {@link #isAdditive(WidgetDataRequest)}) and
+     * while no earlier row was updated in the window (see {@link #hasUpdatedRows}).
+     * Without one it is the full result as of changedUpTo, the starting point for later deltas.
+     *
+     * @param request Widget data request
+     * @param changedAfter Exclusive lower bound on the creation column (the previous watermark), or null
+     * @param changedUpTo Inclusive upper bound on the creation column (the next watermark)
+     * @return WidgetDataResponse with the delta data
+     */
+    public WidgetDataResponse executeWindow(WidgetDataRequest request, LocalDateTime changedAfter, LocalDateTime changedUpTo) {
+        return execute(request, changedAfter, changedUpTo);
+    }
+
+    /**
+     * Whether the request is answered from the payment rollup. Such a result holds every row rolled up
+     * so far rather than the rows up to a watermark, so it cannot be the base of a delta.
+     */
+    public boolean isServedFromRollup(WidgetDataRequest request) {
+        return paymentRollupService.covers(parseJsonArray(request.getGroupFields()),
+            parseJsonArray(request.getMeasureFields()), normalizeSearchCriteria(request.getSearchFields()));
+    }
+
+    /**
+     * Whether every measure of the request aggregates additively (COUNT or SUM), so results over
+     * disjoint row slices can be combined by adding them label by label.
+     */
+    public boolean isAdditive(WidgetDataRequest request) {
+        return parseJsonArray(request.getMeasureFields()).stream()
+            .map(this::getAggregation)
+            .allMatch(aggregation -> "COUNT".equals(aggregation) || "SUM".equals(aggregation));
+    }
+
+    /**
+     * Whether any payment created up to changedAfter was updated in (changedAfter, changedUpTo].
+     * Such a row is already counted in results up to changedAfter, possibly in another group, so a
+     * delta over newly created rows cannot bring those results up to date. Widget filters are not
+     * applied, since an update can also move a row into a widget's filter.
+     */
+    public boolean hasUpdatedRows(LocalDateTime changedAfter, LocalDateTime changedUpTo) {
+        DashboardDatasourceConfig config = datasourceConfigRepository
+            .findByAppCodeAndName("finzly.payment", "Payment")
+            .orElseThrow(() -> new RuntimeException("Payment datasource configuration not found"));
+        String tableName = config.getTableName();
+        if (tableName == null || tableName.trim().isEmpty()) {
+            tableName = "payments";
+        }
+
+        String query = "SELECT 1 FROM " + tableName
+            + " WHERE " + updatedColumn + " > '" + changedAfter + "'"
+            + " AND " + updatedColumn + " <= '" + changedUpTo + "'"
+            + " AND " + createdColumn + " <= '" + changedAfter + "'"
+            + " LIMIT 1";
+        log.info("Checking for updated rows (mock implementation): {}", query);
+
+        // The mock dataset is static, so no rows are ever updated
+        return false;
+    }
+
+    private WidgetDataResponse execute(WidgetDataRequest request, LocalDateTime changedAfter, LocalDateTime changedUpTo) {
+        log.info("Executing payment dashboard data request for widget: {}{}", request.getWidgetId(),
+            changedAfter != null ? " (changed after " + changedAfter + ")" : "");
         
         try {
             long startTime = System.currentTimeMillis();
@@ -52,9 +133,14 @@ public class PaymentDashboardService {
             List<String> measureFields = parseJsonArray(request.getMeasureFields());
             Map<String, Object> searchCriteria = normalizeSearchCriteria(request.getSearchFields());
 
-            // Generate and execute query
-            String query = buildQuery(config, groupFields, measureFields, searchCriteria);
-            Object data = executeQuery(query, groupFields, measureFields);
+            // Serve from the materialized rollup when it covers the query, otherwise generate and execute the raw query.
+            // Watermarked queries always go to the raw table since rollups carry no per-row change timestamps.
+            Optional<WidgetResultSet> rollupData = changedUpTo == null
+                ? paymentRollupService.tryQuery(groupFields, measureFields, searchCriteria)
+                : Optional.empty();
+            WidgetResultSet data = rollupData
+                .orElseGet(() -> executeQuery(buildQuery(config, groupFields, measureFields, searchCriteria, changedAfter, changedUpTo),
+                    groupFields, measureFields, changedAfter));
 
             // Build metadata
             long executionTime = System.currentTimeMillis() - startTime;
@@ -80,7 +166,8 @@ public class PaymentDashboardService {
      * Builds SQL query based on datasource configuration and request parameters
      */
     private String buildQuery(DashboardDatasourceConfig config, List<String> groupFields, 
-                             List<String> measureFields, Map<String, Object> searchCriteria) {
+                             List<String> measureFields, Map<String, Object> searchCriteria,
+                             LocalDateTime changedAfter, LocalDateTime changedUpTo) {
         
         try {
             // Use table name from config
@@ -104,14 +191,8 @@ public class PaymentDashboardService {
                 selectClause.append(", ");
                 String columnName = getColumnName(measureField, config);
                 
-                // Default to COUNT for measures
-                if ("Payment Id".equals(measureField) || measureField.toLowerCase().contains("count")) {
-                    selectClause.append("COUNT(").append(columnName).append(") as ").append(measureField.replace(" ", "_"));
-                } else if ("Sender Amount".equals(measureField) || "Fee Amount".equals(measureField)) {
-                    selectClause.append("SUM(").append(columnName).append(") as ").append(measureField.replace(" ", "_"));
-                } else {
-                    selectClause.append("COUNT(").append(columnName).append(") as ").append(measureField.replace(" ", "_"));
-                }
+                selectClause.append(getAggregation(measureField)).append("(").append(columnName).append(") as ")
+                    .append(measureField.replace(" ", "_"));
             }
             
             // Build query
@@ -119,11 +200,19 @@ public class PaymentDashboardService {
             query.append(" FROM ").append(tableName);
             
             // Add WHERE clause based on search criteria
-            if (!searchCriteria.isEmpty()) {
+            if (!searchCriteria.isEmpty() || changedUpTo != null) {
                 query.append(" WHERE 1=1");
                 // Basic example applying EQUALS and GREATER_THAN/LESS_THAN for numeric/date fields
                 applyWhereClauses(query, searchCriteria, config);
             }
+
+            // Restrict to the rows created in the watermark window for incremental refreshes
+            if (changedAfter != null) {
+                query.append(" AND ").append(createdColumn).append(" > '").append(changedAfter).append("'");
+            }
+            if (changedUpTo != null) {
+                query.append(" AND ").append(createdColumn).append(" <= '").append(changedUpTo).append("'");
+            }
             
             // Add GROUP BY clause
             if (!groupFields.isEmpty()) {
@@ -156,6 +245,18 @@ public class PaymentDashboardService {
         }
     }
 
+    /**
+     * Gets the aggregate function used for a measure field. Defaults to COUNT for measures.
+     */
+    private String getAggregation(String measureField) {
+        if ("Payment Id".equals(measureField) || measureField.toLowerCase().contains("count")) {
+            return "COUNT";
+        } else if ("Sender Amount".equals(measureField) || "Fee Amount".equals(measureField)) {
+            return "SUM";
+        }
+        return "COUNT";
+    }
+
     /**
      * Gets the database column name for a display field name
      */
@@ -194,145 +295,172 @@ public class PaymentDashboardService {
      * Executes the query and returns formatted data
      * For demo purposes, this returns mock data. In production, this would execute against the actual database.
      */
-    private Object executeQuery(String query, List<String> groupFields, List<String> measureFields) {
+    private WidgetResultSet executeQuery(String query, List<String> groupFields, List<String> measureFields,
+                                         LocalDateTime changedAfter) {
         log.info("Executing query (mock implementation): {}", query);
+
+        // Only the first measure is computed
+        List<String> measureNames = measureFields.isEmpty() ? List.of() : List.of(measureFields.get(0));
+        // One label column per group field, so a delta has the shape of the result it is merged into;
+        // categorical labels are interned in the tenant's shared dictionaries
+        LabelDictionary[] labelColumns = new LabelDictionary[Math.max(1, groupFields.size())];
+        for (int column = 0; column < groupFields.size(); column++) {
+            labelColumns[column] = labelDictionaries.forGroupField(groupFields.get(column));
+        }
+        WidgetResultSet.Builder mockData = WidgetResultSet.builder(labelColumns, measureNames);
+
+        // The mock dataset is static, so no rows are ever created after a watermark
+        if (changedAfter != null) {
+            return mockData.build();
+        }
         
         // Enhanced mock data for comprehensive demo purposes
-        Map<String, Object> mockData = new HashMap<>();
         
         // Determine chart type based on field combinations
         if (groupFields.isEmpty() && measureFields.size() == 1) {
             // COUNT/KPI type widget
             String measure = measureFields.get(0);
             if (measure.toLowerCase().contains("count") || measure.toLowerCase().contains("id")) {
-                mockData.put("total", 1847);
+                mockData.add("total", 1847);
             } else if (measure.toLowerCase().contains("amount") || measure.toLowerCase().contains("value")) {
-                mockData.put("total", 2400000.75);
+                mockData.add("total", 2400000.75);
             } else if (measure.toLowerCase().contains("time")) {
-                mockData.put("total", 2.3);
+                mockData.add("total", 2.3);
             } else if (measure.toLowerCase().contains("rate")) {
-                mockData.put("total", 98.7);
+                mockData.add("total", 98.7);
             } else {
-                mockData.put("total", 215);
+                mockData.add("total", 215);
             }
+        } else if (groupFields.size() > 1) {
+            // Multi-dimensional grouping - one label column per group field, labels combined on output
+            addGroupedMock(mockData, labelColumns.length, new String[] {"ACH", "COMPLETED"}, 720);
+            addGroupedMock(mockData, labelColumns.length, new String[] {"ACH", "PENDING"}, 25);
+            addGroupedMock(mockData, labelColumns.length, new String[] {"FEDWIRE", "COMPLETED"}, 450);
+            addGroupedMock(mockData, labelColumns.length, new String[] {"FEDWIRE", "PENDING"}, 15);
+            addGroupedMock(mockData, labelColumns.length, new String[] {"FEDNOW", "COMPLETED"}, 380);
+            addGroupedMock(mockData, labelColumns.length, new String[] {"FEDNOW", "PENDING"}, 8);
         } else if (groupFields.contains("Payment Status") || groupFields.contains("PaymentStatus")) {
             // Payment status distribution for pie/donut charts
-            mockData.put("COMPLETED", 1560);
-            mockData.put("PROCESSED", 187);
-            mockData.put("PENDING", 45);
-            mockData.put("VALIDATION_FAILED", 23);
-            mockData.put("FAILED", 12);
-            mockData.put("CANCELLED", 8);
-            mockData.put("BLOCKED", 5);
-            mockData.put("REJECTED", 7);
+            mockData.add("COMPLETED", 1560);
+            mockData.add("PROCESSED", 187);
+            mockData.add("PENDING", 45);
+            mockData.add("VALIDATION_FAILED", 23);
+            mockData.add("FAILED", 12);
+            mockData.add("CANCELLED", 8);
+            mockData.add("BLOCKED", 5);
+            mockData.add("REJECTED", 7);
         } else if (groupFields.contains("Delivery Method") || groupFields.contains("DeliveryMethod")) {
             // Payment methods for bar/pie charts
             if (measureFields.contains("Sender Amount") || measureFields.contains("amount")) {
-                mockData.put("ACH", 1250000.50);
-                mockData.put("FEDNOW", 420000.25);
-                mockData.put("FEDWIRE", 890500.75);
-                mockData.put("RTP", 340200.00);
-                mockData.put("SWIFT", 156750.00);
+                mockData.add("ACH", 1250000.50);
+                mockData.add("FEDNOW", 420000.25);
+                mockData.add("FEDWIRE", 890500.75);
+                mockData.add("RTP", 340200.00);
+                mockData.add("SWIFT", 156750.00);
             } else {
-                mockData.put("ACH", 850);
-                mockData.put("FEDNOW", 320);
-                mockData.put("FEDWIRE", 480);
-                mockData.put("RTP", 240);
-                mockData.put("SWIFT", 157);
+                mockData.add("ACH", 850);
+                mockData.add("FEDNOW", 320);
+                mockData.add("FEDWIRE", 480);
+                mockData.add("RTP", 240);
+                mockData.add("SWIFT", 157);
             }
         } else if (groupFields.contains("Channel")) {
             // Channel distribution
             if (measureFields.contains("Sender Amount") || measureFields.contains("amount")) {
-                mockData.put("API", 1800000.00);
-                mockData.put("TELLER", 450000.50);
-                mockData.put("CASHOS", 320000.25);
-                mockData.put("WIRE", 180000.75);
+                mockData.add("API", 1800000.00);
+                mockData.add("TELLER", 450000.50);
+                mockData.add("CASHOS", 320000.25);
+                mockData.add("WIRE", 180000.75);
             } else {
-                mockData.put("API", 1240);
-                mockData.put("TELLER", 380);
-                mockData.put("CASHOS", 127);
-                mockData.put("WIRE", 100);
+                mockData.add("API", 1240);
+                mockData.add("TELLER", 380);
+                mockData.add("CASHOS", 127);
+                mockData.add("WIRE", 100);
             }
         } else if (groupFields.contains("Department")) {
             // Department-wise data
-            mockData.put("Treasury", 420);
-            mockData.put("Commercial Banking", 380);
-            mockData.put("Retail Banking", 520);
-            mockData.put("Corporate Banking", 340);
-            mockData.put("International", 187);
+            mockData.add("Treasury", 420);
+            mockData.add("Commercial Banking", 380);
+            mockData.add("Retail Banking", 520);
+            mockData.add("Corporate Banking", 340);
+            mockData.add("International", 187);
         } else if (groupFields.contains("Book")) {
             // Book-wise distribution
-            mockData.put("GALAXY_OUTGOING", 1200);
-            mockData.put("GALAXY_INCOMING", 647);
+            mockData.add("GALAXY_OUTGOING", 1200);
+            mockData.add("GALAXY_INCOMING", 647);
         } else if (groupFields.contains("Payment Date") || groupFields.contains("date")) {
             // Time series data for line/area charts
-            Map<String, Object> timeSeriesData = new LinkedHashMap<>();
+            WidgetResultSet.Builder timeSeriesData = WidgetResultSet.builder(measureNames);
             
             // Generate 30 days of mock data
             for (int i = 1; i <= 30; i++) {
                 String date = String.format("2024-01-%02d", i);
                 if (measureFields.contains("Sender Amount") || measureFields.contains("amount")) {
                     // Daily payment volumes
-                    timeSeriesData.put(date, 50000 + (Math.random() * 100000));
+                    timeSeriesData.add(date, 50000 + (Math.random() * 100000));
                 } else if (measureFields.contains("rate") || measureFields.contains("Rate")) {
                     // Success rates
-                    timeSeriesData.put(date, 85 + (Math.random() * 10));
+                    timeSeriesData.add(date, 85 + (Math.random() * 10));
                 } else {
                     // Payment counts
-                    timeSeriesData.put(date, (int)(50 + (Math.random() * 100)));
+                    timeSeriesData.add(date, (int)(50 + (Math.random() * 100)));
                 }
             }
-            return timeSeriesData;
+            return timeSeriesData.build();
         } else if (groupFields.contains("Hour") || groupFields.contains("time")) {
             // Hourly data for time-based analysis
-            Map<String, Object> hourlyData = new LinkedHashMap<>();
+            WidgetResultSet.Builder hourlyData = WidgetResultSet.builder(measureNames);
             for (int hour = 0; hour < 24; hour++) {
                 String timeLabel = String.format("%02d:00", hour);
                 if (measureFields.contains("amount")) {
-                    hourlyData.put(timeLabel, 20000 + (Math.random() * 80000));
+                    hourlyData.add(timeLabel, 20000 + (Math.random() * 80000));
                 } else {
-                    hourlyData.put(timeLabel, (int)(10 + (Math.random() * 100)));
+                    hourlyData.add(timeLabel, (int)(10 + (Math.random() * 100)));
                 }
             }
-            return hourlyData;
+            return hourlyData.build();
         } else if (groupFields.contains("Memo Post Status") || groupFields.contains("MemoPostStatus")) {
             // Memo posting status
-            mockData.put("POSTED", 1650);
-            mockData.put("NOT_POSTED", 120);
-            mockData.put("FAILURE", 15);
-            mockData.put("NOT_APPLICABLE", 62);
+            mockData.add("POSTED", 1650);
+            mockData.add("NOT_POSTED", 120);
+            mockData.add("FAILURE", 15);
+            mockData.add("NOT_APPLICABLE", 62);
         } else if (groupFields.contains("Currency") || groupFields.contains("SenderCurrency")) {
             // Currency distribution
-            mockData.put("USD", 1450);
-            mockData.put("EUR", 240);
-            mockData.put("GBP", 120);
-            mockData.put("CAD", 87);
-            mockData.put("JPY", 50);
+            mockData.add("USD", 1450);
+            mockData.add("EUR", 240);
+            mockData.add("GBP", 120);
+            mockData.add("CAD", 87);
+            mockData.add("JPY", 50);
         } else if (groupFields.contains("IOType") || groupFields.contains("IoType")) {
             // Incoming vs Outgoing
-            mockData.put("IN", 980);
-            mockData.put("OUT", 867);
-        } else if (groupFields.size() > 1) {
-            // Multi-dimensional grouping - create combined keys
-            mockData.put("ACH-COMPLETED", 720);
-            mockData.put("ACH-PENDING", 25);
-            mockData.put("FEDWIRE-COMPLETED", 450);
-            mockData.put("FEDWIRE-PENDING", 15);
-            mockData.put("FEDNOW-COMPLETED", 380);
-            mockData.put("FEDNOW-PENDING", 8);
+            mockData.add("IN", 980);
+            mockData.add("OUT", 867);
         } else {
             // Default fallback data
-            mockData.put("Category A", 420);
-            mockData.put("Category B", 380);
-            mockData.put("Category C", 280);
-            mockData.put("Category D", 180);
-            mockData.put("Category E", 120);
+            mockData.add("Category A", 420);
+            mockData.add("Category B", 380);
+            mockData.add("Category C", 280);
+            mockData.add("Category D", 180);
+            mockData.add("Category E", 120);
         }
         
+        WidgetResultSet result = mockData.build();
         log.info("Generated mock data with {} entries for groups: {} and measures: {}", 
-                mockData.size(), groupFields, measureFields);
+                result.size(), groupFields, measureFields);
         
-        return mockData;
+        return result;
+    }
+
+    /**
+     * Adds a mock row of a multi-column label; group fields past the mocked ones are labelled ALL
+     */
+    private void addGroupedMock(WidgetResultSet.Builder data, int labelColumns, String[] mockedParts, long value) {
+        String[] labelParts = new String[labelColumns];
+        for (int column = 0; column < labelColumns; column++) {
+            labelParts[column] = column < mockedParts.length ? mockedParts[column] : "ALL";
+        }
+        data.add(labelParts, value);
     }
 
     /**
@@ -341,7 +469,7 @@ public class PaymentDashboardService {
     private WidgetDataResponse.WidgetMetadata buildMetadata(List<String> groupFields, 
                                                            List<String> measureFields,
                                                            Map<String, Object> searchCriteria, 
-                                                           long executionTime, Object data) {
+                                                           long executionTime, WidgetResultSet data) {
         return WidgetDataResponse.WidgetMetadata.builder()
             .totalRecords(getTotalRecords(data))
             .fieldNames(groupFields)
@@ -356,11 +484,8 @@ public class PaymentDashboardService {
     /**
      * Gets total record count from data
      */
-    private Long getTotalRecords(Object data) {
-        if (data instanceof Map) {
-            return (long) ((Map<?, ?>) data).size();
-        }
-        return 1L;
+    private Long getTotalRecords(WidgetResultSet data) {
+        return (long) data.size();
     }
 
     /**
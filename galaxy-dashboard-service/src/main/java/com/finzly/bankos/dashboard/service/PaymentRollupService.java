@@ -0,0 +1,373 @@
+package com.finzly.bankos.dashboard.service;
+
+import com.finzly.bankos.dashboard.aggregate.LabelDictionary;
+import com.finzly.bankos.dashboard.aggregate.LabelDictionaryRegistry;
+import com.finzly.bankos.dashboard.aggregate.PaymentAggregate;
+import com.finzly.bankos.dashboard.aggregate.PaymentAggregateKey;
+import com.finzly.bankos.dashboard.aggregate.PaymentAggregateStore;
+import com.finzly.bankos.dashboard.aggregate.WidgetResultSet;
+import com.finzly.bankos.dashboard.config.TenantScope;
+import com.finzly.bankos.dashboard.entity.PaymentRollup;
+import com.finzly.bankos.dashboard.entity.PaymentRollupDimension;
+import com.finzly.bankos.dashboard.repository.PaymentRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains the payment_rollup table and answers eligible payment widget queries from it.
+ *
+ * Rollups are written at HOUR and DAY grain for the full dimension set (status, delivery method,
+ * channel, currency, IO type), so any subset of those dimensions can be grouped by summing rows.
+ * A widget query is routed to the rollup only when all of its group fields, its single measure and
+ * its filters are covered, and its date range starts on or after the day the rollup is complete
+ * from (dashboard.rollup.covered-from); everything else keeps scanning raw payments.
+ * Date filters are compared by calendar day, e.g. GREATER_THAN 2024-01-05 starts on 2024-01-06.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentRollupService.class);
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private static final Set<String> DATE_FIELDS = Set.of("Payment Date", "Created Date", "date");
+    private static final Set<String> HOUR_FIELDS = Set.of("Hour", "time");
+
+    private final PaymentAggregateStore aggregateStore;
+    private final PaymentRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final LabelDictionaryRegistry labelDictionaries;
+
+    @Value("${dashboard.rollup.routing-enabled:false}")
+    private boolean routingEnabled;
+
+    // First day for which rollups are complete (backfilled); queries must not reach before it, and none are routed while unset
+    @Value("${dashboard.rollup.covered-from:}")
+    private String coveredFrom;
+
+    /**
+     * Drains accumulated payment aggregate deltas and adds them to the rollup rows of each tenant.
+     * Deltas of a tenant whose write fails are put back and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.rollup.flush-interval-ms:60000}")
+    public void flush() {
+        Map<PaymentAggregateKey, PaymentAggregate> cells = aggregateStore.drain();
+        if (cells.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<PaymentAggregateKey, PaymentAggregate>> cellsByTenant = new HashMap<>();
+        cells.forEach((key, aggregate) ->
+                cellsByTenant.computeIfAbsent(key.getTenant(), t -> new HashMap<>()).put(key, aggregate));
+
+        cellsByTenant.forEach((tenant, tenantCells) -> {
+            try {
+                TenantScope.run(tenant, () -> transactionTemplate.executeWithoutResult(status -> write(tenantCells)));
+                log.info("Flushed {} payment rollup cells for tenant {}", tenantCells.size(), tenant);
+            } catch (Exception e) {
+                log.error("Failed to flush {} payment rollup cells for tenant {}, will retry: {}",
+                        tenantCells.size(), tenant, e.getMessage());
+                aggregateStore.restore(tenantCells);
+            }
+        });
+    }
+
+    private void write(Map<PaymentAggregateKey, PaymentAggregate> hourCells) {
+        // Several hour cells roll into the same day row; merge them first to write each row once
+        Map<PaymentAggregateKey, PaymentAggregate> dayCells = new HashMap<>();
+        hourCells.forEach((key, aggregate) -> {
+            PaymentAggregateKey dayKey = new PaymentAggregateKey(key.getTenant(),
+                    key.getBucketHour().truncatedTo(ChronoUnit.DAYS), key.getPaymentStatus(),
+                    key.getDeliveryMethod(), key.getChannel(), key.getCurrency(), key.getIoType());
+            dayCells.computeIfAbsent(dayKey, k -> new PaymentAggregate())
+                    .add(aggregate.getPaymentCount(), aggregate.getSenderAmount());
+        });
+
+        hourCells.forEach((key, aggregate) -> addToRollup(PaymentRollup.Granularity.HOUR, key, aggregate));
+        dayCells.forEach((key, aggregate) -> addToRollup(PaymentRollup.Granularity.DAY, key, aggregate));
+    }
+
+    private void addToRollup(PaymentRollup.Granularity granularity, PaymentAggregateKey key, PaymentAggregate aggregate) {
+        if (aggregate.getPaymentCount() == 0 && aggregate.getSenderAmount().signum() == 0) {
+            return; // changes within the cell cancelled out
+        }
+        rollupRepository.addToRollup(
+                granularity.name(),
+                key.getBucketHour(),
+                orUnknown(key.getPaymentStatus()),
+                orUnknown(key.getDeliveryMethod()),
+                orUnknown(key.getChannel()),
+                orUnknown(key.getCurrency()),
+                orUnknown(key.getIoType()),
+                aggregate.getPaymentCount(),
+                aggregate.getSenderAmount());
+    }
+
+    /**
+     * Answers a payment widget query from the rollup table when it is covered by it.
+     *
+     * @return widget data in the same shape as the raw query path, or empty when the query is not eligible
+     */
+    public Optional<WidgetResultSet> tryQuery(List<String> groupFields, List<String> measureFields,
+                                              Map<String, Object> searchCriteria) {
+        if (!routingEnabled) {
+            return Optional.empty();
+        }
+
+        RollupQuery rollupQuery = plan(groupFields, measureFields, searchCriteria);
+        if (rollupQuery == null) {
+            log.debug("Payment widget query not covered by rollup, groups={} measures={} filters={}",
+                    groupFields, measureFields, searchCriteria.keySet());
+            return Optional.empty();
+        }
+
+        log.info("Routing payment widget query to {} rollup: {}", rollupQuery.granularity, rollupQuery.jpql);
+        return Optional.of(execute(rollupQuery, measureFields.get(0)));
+    }
+
+    /**
+     * Whether tryQuery would answer the query from the rollup table.
+     */
+    public boolean covers(List<String> groupFields, List<String> measureFields, Map<String, Object> searchCriteria) {
+        return routingEnabled && plan(groupFields, measureFields, searchCriteria) != null;
+    }
+
+    private RollupQuery plan(List<String> groupFields, List<String> measureFields, Map<String, Object> searchCriteria) {
+        // The rollup query computes one measure; several are left to the raw query, which answers them all
+        if (measureFields.size() != 1 || coveredFrom == null || coveredFrom.isBlank()) {
+            return null;
+        }
+        String measureExpression = measureExpression(measureFields.get(0));
+        if (measureExpression == null) {
+            return null;
+        }
+
+        RollupQuery rollupQuery = new RollupQuery();
+        List<String> groupExpressions = new ArrayList<>();
+        for (String groupField : groupFields) {
+            Optional<PaymentRollupDimension> dimension = PaymentRollupDimension.fromFieldName(groupField);
+            if (dimension.isPresent()) {
+                groupExpressions.add("r." + dimension.get().getAttribute());
+                rollupQuery.labelTypes.add(LabelType.VALUE);
+                rollupQuery.dictionaries.add(labelDictionaries.forDimension(dimension.get()));
+            } else if (DATE_FIELDS.contains(groupField)) {
+                groupExpressions.add("r.bucketStart");
+                rollupQuery.labelTypes.add(LabelType.DAY);
+                rollupQuery.dictionaries.add(null);
+                rollupQuery.timeOrdered = true;
+            } else if (HOUR_FIELDS.contains(groupField)) {
+                groupExpressions.add("EXTRACT(HOUR FROM r.bucketStart)");
+                rollupQuery.labelTypes.add(LabelType.HOUR);
+                rollupQuery.dictionaries.add(null);
+                rollupQuery.granularity = PaymentRollup.Granularity.HOUR;
+                rollupQuery.timeOrdered = true;
+            } else {
+                return null;
+            }
+        }
+        if (rollupQuery.granularity == PaymentRollup.Granularity.HOUR
+                && rollupQuery.labelTypes.contains(LabelType.DAY)) {
+            return null;
+        }
+
+        StringBuilder where = new StringBuilder(" WHERE r.granularity = :granularity");
+        LocalDate lowerBound = null;
+        for (Map.Entry<String, Object> entry : searchCriteria.entrySet()) {
+            String operator = "EQUALS";
+            Object value = entry.getValue();
+            if (value instanceof Map) {
+                Map<?, ?> rule = (Map<?, ?>) value;
+                operator = rule.get("operator") != null ? String.valueOf(rule.get("operator")) : "EQUALS";
+                value = rule.get("fieldValue");
+            }
+            if (value == null) {
+                return null;
+            }
+
+            String parameter = "p" + rollupQuery.parameters.size();
+            Optional<PaymentRollupDimension> dimension = PaymentRollupDimension.fromFieldName(entry.getKey());
+            if (dimension.isPresent()) {
+                if ("EQUALS".equals(operator)) {
+                    where.append(" AND r.").append(dimension.get().getAttribute()).append(" = :").append(parameter);
+                } else if ("NOT_EQUALS".equals(operator)) {
+                    where.append(" AND r.").append(dimension.get().getAttribute()).append(" <> :").append(parameter);
+                } else {
+                    return null;
+                }
+                rollupQuery.parameters.put(parameter, String.valueOf(value));
+            } else if (DATE_FIELDS.contains(entry.getKey())) {
+                // Only bounds that align exactly with day buckets can be answered from the rollup
+                LocalDate day = parseDay(String.valueOf(value));
+                if (day == null) {
+                    return null;
+                }
+                LocalDate from;
+                LocalDate until;
+                switch (operator) {
+                    case "EQUALS":
+                        from = day;
+                        until = day.plusDays(1);
+                        break;
+                    case "GREATER_THAN":
+                        from = day.plusDays(1);
+                        until = null;
+                        break;
+                    case "GREATER_THAN_OR_EQUALS":
+                        from = day;
+                        until = null;
+                        break;
+                    case "LESS_THAN":
+                        from = null;
+                        until = day;
+                        break;
+                    case "LESS_THAN_OR_EQUALS":
+                        from = null;
+                        until = day.plusDays(1);
+                        break;
+                    default:
+                        return null;
+                }
+                if (from != null) {
+                    where.append(" AND r.bucketStart >= :").append(parameter);
+                    rollupQuery.parameters.put(parameter, from.atStartOfDay());
+                    lowerBound = lowerBound == null || from.isAfter(lowerBound) ? from : lowerBound;
+                }
+                if (until != null) {
+                    parameter = "p" + rollupQuery.parameters.size();
+                    where.append(" AND r.bucketStart < :").append(parameter);
+                    rollupQuery.parameters.put(parameter, until.atStartOfDay());
+                }
+            } else {
+                return null;
+            }
+        }
+
+        if (lowerBound == null || lowerBound.isBefore(LocalDate.parse(coveredFrom.trim()))) {
+            return null;
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (String groupExpression : groupExpressions) {
+            jpql.append(groupExpression).append(", ");
+        }
+        jpql.append(measureExpression).append(" AS measureValue FROM PaymentRollup r").append(where);
+        if (!groupExpressions.isEmpty()) {
+            jpql.append(" GROUP BY ").append(String.join(", ", groupExpressions));
+            jpql.append(" ORDER BY ").append(rollupQuery.timeOrdered ? String.join(", ", groupExpressions) : "measureValue DESC");
+        }
+        rollupQuery.jpql = jpql.toString();
+        return rollupQuery;
+    }
+
+    private WidgetResultSet execute(RollupQuery rollupQuery, String measureName) {
+        TypedQuery<Object> query = entityManager.createQuery(rollupQuery.jpql, Object.class)
+                .setParameter("granularity", rollupQuery.granularity);
+        rollupQuery.parameters.forEach(query::setParameter);
+
+        int labelColumns = rollupQuery.labelTypes.size();
+        WidgetResultSet.Builder data = labelColumns == 0
+                ? WidgetResultSet.builder(List.of(measureName))
+                : WidgetResultSet.builder(rollupQuery.dictionaries.toArray(new LabelDictionary[0]), List.of(measureName));
+        if (labelColumns == 0) {
+            // A single total; SUM over no rows is null, reported as 0
+            Object total = query.getResultList().stream().findFirst().orElse(null);
+            if (total instanceof Object[] columns) {
+                total = columns[columns.length - 1];
+            }
+            addValue(data, data.row("total"), total);
+            return data.build();
+        }
+
+        String[] labelParts = new String[labelColumns];
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            for (int i = 0; i < labelColumns; i++) {
+                labelParts[i] = formatLabel(rollupQuery.labelTypes.get(i), columns[i]);
+            }
+            addValue(data, data.row(labelParts), columns[columns.length - 1]);
+        }
+        return data.build();
+    }
+
+    private void addValue(WidgetResultSet.Builder data, int row, Object value) {
+        if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
+            data.add(row, 0, ((Number) value).doubleValue());
+        } else {
+            data.add(row, 0, value != null ? ((Number) value).longValue() : 0L);
+        }
+    }
+
+    private String measureExpression(String measureField) {
+        if ("Payment Id".equals(measureField) || measureField.toLowerCase().contains("count")) {
+            return "SUM(r.paymentCount)";
+        }
+        if ("Sender Amount".equals(measureField)) {
+            return "SUM(r.senderAmount)";
+        }
+        return null;
+    }
+
+    private String formatLabel(LabelType labelType, Object value) {
+        switch (labelType) {
+            case DAY:
+                return ((LocalDateTime) value).toLocalDate().toString();
+            case HOUR:
+                return String.format("%02d:00", ((Number) value).intValue());
+            default:
+                return String.valueOf(value);
+        }
+    }
+
+    private LocalDate parseDay(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (Exception ignored) {
+            // fall through to date-time
+        }
+        try {
+            LocalDateTime dateTime = LocalDateTime.parse(value);
+            return dateTime.equals(dateTime.truncatedTo(ChronoUnit.DAYS)) ? dateTime.toLocalDate() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String orUnknown(String value) {
+        return value == null || value.isBlank() ? UNKNOWN : value;
+    }
+
+    private enum LabelType {
+        VALUE, DAY, HOUR
+    }
+
+    private static class RollupQuery {
+        private PaymentRollup.Granularity granularity = PaymentRollup.Granularity.DAY;
+        private final List<LabelType> labelTypes = new ArrayList<>();
+        // Shared dictionary per label column, null where the column is not categorical
+        private final List<LabelDictionary> dictionaries = new ArrayList<>();
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+        private boolean timeOrdered;
+        private String jpql;
+    }
+}
@@ -0,0 +1,274 @@
+package com.finzly.bankos.dashboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finzly.bankos.dashboard.adapter.PaymentAdapter;
+import com.finzly.bankos.dashboard.config.TenantScope;
+import com.finzly.bankos.dashboard.dto.request.WidgetConfigRequest;
+import com.finzly.bankos.dashboard.entity.WidgetConfigOutbox;
+import com.finzly.bankos.dashboard.repository.WidgetConfigOutboxRepository;
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Transactional outbox for widget configurations sent to payment-service.
+ *
+ * Widget saves only insert an outbox row in their own transaction, superseding the older pending
+ * rows of the same widget so a stale configuration is never sent after a newer one. A scheduled
+ * relay scans the outbox of every tenant with a configured datasource (db.tenant.<name>.*), so rows
+ * written before a restart or by another instance are delivered too. Each due row is claimed with a
+ * conditional update that leases it for dashboard.outbox.claim-lease-ms, so concurrent relays do not
+ * send the same row; a row whose relay died becomes due again when its lease runs out. Delivery
+ * happens outside of any transaction and the outcome is written back in one short transaction.
+ * Failed deliveries are retried with exponential backoff. Every row carries its own idempotency key,
+ * so a delivery repeated after an expired lease is harmless.
+ */
+@Service
+@RequiredArgsConstructor
+public class WidgetConfigOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(WidgetConfigOutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final Pattern TENANT_DATASOURCE_KEY = Pattern.compile("^db\\.tenant\\.([^.]+)\\..+$");
+
+    private final WidgetConfigOutboxRepository outboxRepository;
+    private final PaymentAdapter paymentAdapter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableEnvironment environment;
+
+    // Tenants with a configured datasource, resolved on first use and again after a configuration refresh
+    private volatile Set<String> tenants;
+
+    @Value("${dashboard.outbox.enabled:true}")
+    private boolean enabled;
+
+    // Comma-separated tenants drained in addition to those with a configured datasource
+    @Value("${dashboard.outbox.tenants:}")
+    private String configuredTenants;
+
+    @Value("${dashboard.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${dashboard.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${dashboard.outbox.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${dashboard.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${dashboard.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    // How long a claimed row is reserved for the relay sending it; must exceed the send timeout
+    @Value("${dashboard.outbox.claim-lease-ms:60000}")
+    private long claimLeaseMs;
+
+    /**
+     * Records a widget configuration for delivery. Must run inside the transaction that saves the
+     * widget, so the configuration is sent if and only if the widget change commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(WidgetConfigRequest widgetConfig) {
+        WidgetConfigOutbox entry = new WidgetConfigOutbox();
+        entry.setWidgetId(widgetConfig.getWidgetId());
+        entry.setIdempotencyKey(UUID.randomUUID().toString());
+        entry.setPayload(toJson(widgetConfig));
+        entry.setStatus(WidgetConfigOutbox.Status.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(entry);
+
+        // Older configurations still waiting, e.g. in backoff, must never be sent after this one
+        outboxRepository.supersedeOlder(entry.getWidgetId(), entry.getId(),
+                WidgetConfigOutbox.Status.PENDING, WidgetConfigOutbox.Status.SUPERSEDED);
+        log.debug("Queued configuration of widget {} for payment service", widgetConfig.getWidgetId());
+    }
+
+    /**
+     * Delivers due outbox rows of every tenant.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.outbox.poll-interval-ms:2000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        // Sends would only be rejected by the open circuit and burn retry attempts
+        if (!paymentAdapter.isPaymentServiceAvailable()) {
+            log.debug("payment-service circuit is open, skipping widget configuration relay");
+            return;
+        }
+        for (String tenant : tenants()) {
+            try {
+                TenantScope.run(tenant, this::relayTenant);
+            } catch (Exception e) {
+                log.warn("Failed to relay widget configurations for tenant {}: {}", tenant, e.getMessage());
+            }
+        }
+    }
+
+    private void relayTenant() {
+        LocalDateTime now = LocalDateTime.now();
+        List<WidgetConfigOutbox> due = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                WidgetConfigOutbox.Status.PENDING, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // Rows are ordered by id, so the last row of a widget is its newest configuration
+        Map<Long, WidgetConfigOutbox> newestByWidget = new LinkedHashMap<>();
+        due.forEach(entry -> newestByWidget.put(entry.getWidgetId(), entry));
+
+        // Rows another relay claimed since they were read are left to it
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(claimLeaseMs));
+        List<WidgetConfigOutbox> claimed = transactionTemplate.execute(status -> newestByWidget.values().stream()
+                .filter(entry -> outboxRepository.claim(entry.getId(), WidgetConfigOutbox.Status.PENDING,
+                        entry.getNextAttemptAt(), leaseUntil) == 1)
+                .toList());
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        int sent = 0;
+        for (WidgetConfigOutbox entry : claimed) {
+            if (deliver(entry)) {
+                sent++;
+            }
+        }
+
+        // Once the newest configuration of a widget is settled, older pending ones must never be sent
+        transactionTemplate.executeWithoutResult(status -> claimed.forEach(entry -> {
+            int recorded = outboxRepository.recordAttempt(entry.getId(), WidgetConfigOutbox.Status.PENDING,
+                    entry.getStatus(), entry.getAttempts(), entry.getNextAttemptAt(), entry.getLastError(),
+                    entry.getSentDateTime());
+            if (recorded == 1 && entry.getStatus() != WidgetConfigOutbox.Status.PENDING) {
+                outboxRepository.supersedeOlder(entry.getWidgetId(), entry.getId(),
+                        WidgetConfigOutbox.Status.PENDING, WidgetConfigOutbox.Status.SUPERSEDED);
+            }
+        }));
+        log.info("Relayed {} of {} widget configurations for tenant {}",
+                sent, claimed.size(), TenantContext.getCurrentTenant());
+    }
+
+    private boolean deliver(WidgetConfigOutbox entry) {
+        WidgetConfigRequest widgetConfig;
+        try {
+            widgetConfig = objectMapper.readValue(entry.getPayload(), WidgetConfigRequest.class);
+        } catch (JsonProcessingException e) {
+            entry.setStatus(WidgetConfigOutbox.Status.FAILED);
+            entry.setLastError(truncate("Unreadable payload: " + e.getMessage()));
+            log.error("Dropping unreadable outbox entry {} of widget {}", entry.getId(), entry.getWidgetId());
+            return false;
+        }
+
+        entry.setAttempts(entry.getAttempts() + 1);
+        try {
+            paymentAdapter.sendWidgetConfiguration(widgetConfig, entry.getIdempotencyKey(), Duration.ofMillis(sendTimeoutMs));
+            entry.setStatus(WidgetConfigOutbox.Status.SENT);
+            entry.setSentDateTime(LocalDateTime.now());
+            entry.setLastError(null);
+            return true;
+        } catch (Exception e) {
+            entry.setLastError(truncate(e.getMessage()));
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(WidgetConfigOutbox.Status.FAILED);
+                log.error("Giving up on configuration of widget {} after {} attempts: {}",
+                        entry.getWidgetId(), entry.getAttempts(), e.getMessage());
+            } else {
+                entry.setNextAttemptAt(LocalDateTime.now().plus(backoff(entry.getAttempts())));
+                log.warn("Sending configuration of widget {} failed (attempt {}), retrying at {}: {}",
+                        entry.getWidgetId(), entry.getAttempts(), entry.getNextAttemptAt(), e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private Set<String> tenants() {
+        Set<String> resolved = tenants;
+        if (resolved == null) {
+            resolved = resolveTenants();
+            tenants = resolved;
+        }
+        return resolved;
+    }
+
+    private Set<String> resolveTenants() {
+        Set<String> resolved = new TreeSet<>();
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (source instanceof EnumerablePropertySource<?> enumerable) {
+                for (String name : enumerable.getPropertyNames()) {
+                    Matcher matcher = TENANT_DATASOURCE_KEY.matcher(name);
+                    if (matcher.matches()) {
+                        resolved.add(matcher.group(1));
+                    }
+                }
+            }
+        }
+        Arrays.stream(configuredTenants.split(","))
+                .map(String::trim)
+                .filter(tenant -> !tenant.isEmpty())
+                .forEach(resolved::add);
+        log.info("Relaying widget configurations for tenants {}", resolved);
+        return resolved;
+    }
+
+    /**
+     * Picks up tenants added or removed by a configuration refresh.
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> TENANT_DATASOURCE_KEY.matcher(key).matches())) {
+            tenants = null;
+        }
+    }
+
+    private String toJson(WidgetConfigRequest widgetConfig) {
+        try {
+            return objectMapper.writeValueAsString(widgetConfig);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize configuration of widget " + widgetConfig.getWidgetId(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
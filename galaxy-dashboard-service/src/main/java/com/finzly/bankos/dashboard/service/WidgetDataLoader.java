@@ -0,0 +1,132 @@
+package com.finzly.bankos.dashboard.service;
+
+import com.finzly.bankos.dashboard.config.TenantScope;
+import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
+import com.finzly.bankos.dashboard.entity.Widget;
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Fetches data for several widgets concurrently on the widget data executor.
+ * At most dashboard.widget-data.max-concurrency widgets of one call are queried at a time so a
+ * large listing cannot flood the data sources. Results come back in the order of the given
+ * widgets; a widget that fails or misses the deadline gets an error response instead of failing
+ * the whole batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class WidgetDataLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(WidgetDataLoader.class);
+
+    private final ExecutorService widgetDataExecutor;
+
+    @Value("${dashboard.widget-data.max-concurrency:8}")
+    private int maxConcurrency;
+
+    public List<WidgetDataResponse> loadAll(List<Widget> widgets,
+                                            Function<Widget, WidgetDataResponse> loader,
+                                            Duration deadline) {
+        WidgetDataResponse[] results = new WidgetDataResponse[widgets.size()];
+        loadEach(widgets, loader, deadline, (index, result) -> results[index] = result);
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Loads the widgets concurrently and hands each result to the callback as soon as it is ready,
+     * in completion order, together with the widget's index in the given list. Widgets still
+     * loading at the deadline are cancelled and reported as timed out. The callback is always
+     * invoked on the calling thread, one result at a time.
+     */
+    public void loadEach(List<Widget> widgets,
+                         Function<Widget, WidgetDataResponse> loader,
+                         Duration deadline,
+                         BiConsumer<Integer, WidgetDataResponse> onResult) {
+        if (widgets.isEmpty()) {
+            return;
+        }
+
+        // Workers run outside the request thread, so the caller's tenant is carried over explicitly
+        String tenant = TenantContext.getCurrentTenant();
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(widgetDataExecutor);
+        WidgetDataResponse[] results = new WidgetDataResponse[widgets.size()];
+        List<Future<Integer>> futures = new ArrayList<>(widgets.size());
+
+        for (int i = 0; i < widgets.size(); i++) {
+            int index = i;
+            Widget widget = widgets.get(i);
+            futures.add(completionService.submit(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results[index] = WidgetDataResponse.error(widget.getId(), widget.getDataSource(),
+                            "Widget data load was interrupted");
+                    return index;
+                }
+                try {
+                    results[index] = TenantScope.call(tenant, () -> loader.apply(widget));
+                } catch (Exception e) {
+                    log.error("Error loading data for widget {}: {}", widget.getId(), e.getMessage());
+                    results[index] = WidgetDataResponse.error(widget.getId(), widget.getDataSource(),
+                            "Error loading widget data: " + e.getMessage());
+                } finally {
+                    permits.release();
+                }
+                return index;
+            }));
+        }
+
+        boolean[] reported = new boolean[widgets.size()];
+        long deadlineAt = System.nanoTime() + deadline.toNanos();
+        try {
+            for (int remaining = widgets.size(); remaining > 0; remaining--) {
+                Future<Integer> completed = completionService.poll(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    break; // deadline reached
+                }
+                int index = completed.get();
+                reported[index] = true;
+                onResult.accept(index, results[index]);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Tasks capture their own failures, so this is not expected
+            log.error("Widget data task ended abnormally: {}", e.getCause().getMessage());
+        } finally {
+            // Also runs when the callback throws, e.g. because the client went away
+            for (Future<Integer> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        for (int i = 0; i < widgets.size(); i++) {
+            if (!reported[i]) {
+                Widget widget = widgets.get(i);
+                log.warn("Widget {} data did not load within {} ms", widget.getId(), deadline.toMillis());
+                onResult.accept(i, WidgetDataResponse.error(widget.getId(), widget.getDataSource(),
+                        "Widget data did not load within " + deadline.toMillis() + " ms"));
+            }
+        }
+    }
+}
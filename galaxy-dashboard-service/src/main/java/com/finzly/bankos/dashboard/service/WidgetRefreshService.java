@@ -0,0 +1,202 @@
+package com.finzly.bankos.dashboard.service;
+
+import com.finzly.bankos.dashboard.aggregate.WidgetResultSet;
+import com.finzly.bankos.dashboard.cache.CachedWidgetResult;
+import com.finzly.bankos.dashboard.cache.WidgetResultCache;
+import com.finzly.bankos.dashboard.cache.WidgetResultKey;
+import com.finzly.bankos.dashboard.config.TenantScope;
+import com.finzly.bankos.dashboard.dto.request.WidgetDataRequest;
+import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Serves payment widget data from WidgetResultCache and keeps cached results fresh.
+ *
+ * Each cached result carries a high-watermark on the payments creation timestamp column. When a
+ * widget's refresh interval elapses and all of its measures are additive (COUNT/SUM), only rows
+ * created between the watermark and now are queried and their totals are added label by label
+ * into the cached result. A row updated in place is already counted in the cached result, and a
+ * delta cannot subtract its previous contribution, so any update to an earlier row since the
+ * watermark forces a full recompute instead. Everything else, and every result at the full
+ * recompute interval, is recomputed from scratch; the full recompute also corrects for
+ * late-committed rows. Full results are bounded by the same watermark, so no row is counted by
+ * both a full result and the delta that follows it. Widgets answered from the payment rollup hold
+ * every row rolled up so far instead; they carry no watermark and are always refreshed in full.
+ */
+@Service
+@RequiredArgsConstructor
+public class WidgetRefreshService {
+
+    private static final Logger log = LoggerFactory.getLogger(WidgetRefreshService.class);
+
+    private final PaymentDashboardService paymentDashboardService;
+    private final WidgetResultCache resultCache;
+
+    @Value("${dashboard.refresh.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dashboard.refresh.default-interval-seconds:30}")
+    private int defaultIntervalSeconds;
+
+    @Value("${dashboard.refresh.full-recompute-interval-ms:900000}")
+    private long fullRecomputeIntervalMs;
+
+    // Watermarks trail the clock so rows written by transactions still in flight fall into the next slice
+    @Value("${dashboard.refresh.watermark-lag-ms:5000}")
+    private long watermarkLagMs;
+
+    @Value("${dashboard.refresh.idle-eviction-ms:3600000}")
+    private long idleEvictionMs;
+
+    // A cached result whose refreshes kept failing for this many intervals is served flagged as stale
+    @Value("${dashboard.refresh.stale-after-missed-refreshes:3}")
+    private int staleAfterMissedRefreshes;
+
+    /**
+     * Returns the cached result for a saved payment widget, computing and caching it on first use.
+     * Ad-hoc requests without a widget id are always executed directly. Failed refreshes keep the last
+     * good result; once it is several refresh intervals old it is still served, flagged as stale.
+     */
+    public WidgetDataResponse getPaymentWidgetData(WidgetDataRequest request, Integer refreshIntervalSeconds) {
+        if (!enabled || request.getWidgetId() == null) {
+            return paymentDashboardService.execute(request);
+        }
+
+        WidgetResultKey key = WidgetResultKey.of(TenantContext.getCurrentTenant(), request);
+        CachedWidgetResult cached = resultCache.get(key);
+        if (cached != null) {
+            return isStale(cached) ? cached.getResponse().asStale() : cached.getResponse();
+        }
+
+        LocalDateTime watermark = nextWatermark(request);
+        WidgetDataResponse response = executeFull(request, watermark);
+        if (Boolean.TRUE.equals(response.getSuccess())) {
+            int interval = refreshIntervalSeconds != null && refreshIntervalSeconds > 0 ? refreshIntervalSeconds : defaultIntervalSeconds;
+            Instant now = Instant.now();
+            resultCache.put(key, new CachedWidgetResult(copyOf(request), response, interval, watermark, now, now));
+        }
+        return response;
+    }
+
+    /**
+     * Refreshes every cached result whose widget refresh interval has elapsed and evicts results
+     * nobody has read for a while.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.refresh.poll-interval-ms:5000}")
+    public void refreshDue() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        resultCache.entries().forEach((key, entry) -> {
+            if (entry.getLastAccess().plusMillis(idleEvictionMs).isBefore(now)) {
+                resultCache.remove(key);
+                return;
+            }
+            if (entry.getLastRefresh().plusSeconds(entry.getRefreshIntervalSeconds()).isAfter(now)) {
+                return;
+            }
+            try {
+                TenantScope.run(key.getTenant(), () -> refresh(key, entry));
+            } catch (Exception e) {
+                log.warn("Failed to refresh widget {} for tenant {}, keeping previous result: {}",
+                        key.getWidgetId(), key.getTenant(), e.getMessage());
+            }
+        });
+    }
+
+    private void refresh(WidgetResultKey key, CachedWidgetResult entry) {
+        Instant now = Instant.now();
+        LocalDateTime watermark = nextWatermark(entry.getRequest());
+        boolean full = watermark == null || entry.getWatermark() == null
+                || entry.getLastFullRefresh().plusMillis(fullRecomputeIntervalMs).isBefore(now)
+                || !(entry.getResponse().getData() instanceof WidgetResultSet)
+                || !paymentDashboardService.isAdditive(entry.getRequest());
+
+        if (watermark != null && entry.getWatermark() != null && !watermark.isAfter(entry.getWatermark())) {
+            return;
+        }
+
+        // A delta only adds new rows; rows updated since the watermark need their old contribution removed
+        if (!full && paymentDashboardService.hasUpdatedRows(entry.getWatermark(), watermark)) {
+            full = true;
+        }
+
+        WidgetDataResponse response;
+        if (full) {
+            response = executeFull(copyOf(entry.getRequest()), watermark);
+        } else {
+            WidgetDataResponse delta = paymentDashboardService.executeWindow(copyOf(entry.getRequest()), entry.getWatermark(), watermark);
+            response = Boolean.TRUE.equals(delta.getSuccess()) ? merge(entry.getResponse(), delta) : delta;
+        }
+
+        if (!Boolean.TRUE.equals(response.getSuccess())) {
+            log.warn("{} refresh of widget {} failed, keeping previous result: {}",
+                    full ? "Full" : "Incremental", key.getWidgetId(), response.getErrorMessage());
+            return;
+        }
+
+        resultCache.replace(key, entry, entry.refreshed(response, watermark, now, full));
+        log.debug("{} refresh of widget {} for tenant {} up to {}",
+                full ? "Full" : "Incremental", key.getWidgetId(), key.getTenant(), watermark);
+    }
+
+    /**
+     * Adds the delta slice into a copy of the cached data; labels new in the delta are appended.
+     */
+    private WidgetDataResponse merge(WidgetDataResponse base, WidgetDataResponse delta) {
+        WidgetResultSet merged = (WidgetResultSet) base.getData();
+        if (delta.getData() instanceof WidgetResultSet deltaData && deltaData.size() > 0) {
+            merged = merged.plus(deltaData);
+        }
+
+        WidgetDataResponse.WidgetMetadata metadata = base.getMetadata();
+        if (metadata != null) {
+            metadata = WidgetDataResponse.WidgetMetadata.builder()
+                    .totalRecords((long) merged.size())
+                    .fieldNames(metadata.getFieldNames())
+                    .aggregationType(metadata.getAggregationType())
+                    .groupBy(metadata.getGroupBy())
+                    .measures(metadata.getMeasures())
+                    .filters(metadata.getFilters())
+                    .executionTimeMs(delta.getMetadata() != null ? delta.getMetadata().getExecutionTimeMs() : null)
+                    .build();
+        }
+        return WidgetDataResponse.success(base.getWidgetId(), base.getDataSource(), base.getChartType(), merged, metadata);
+    }
+
+    private boolean isStale(CachedWidgetResult entry) {
+        long staleAfterSeconds = (long) entry.getRefreshIntervalSeconds() * Math.max(1, staleAfterMissedRefreshes);
+        return entry.getLastRefresh().plusSeconds(staleAfterSeconds).isBefore(Instant.now());
+    }
+
+    /**
+     * @return The watermark of the next result, or null for a result answered from the rollup
+     */
+    private LocalDateTime nextWatermark(WidgetDataRequest request) {
+        if (paymentDashboardService.isServedFromRollup(request)) {
+            return null;
+        }
+        return LocalDateTime.now().minusNanos(watermarkLagMs * 1_000_000);
+    }
+
+    private WidgetDataResponse executeFull(WidgetDataRequest request, LocalDateTime watermark) {
+        return watermark == null
+                ? paymentDashboardService.execute(request)
+                : paymentDashboardService.executeWindow(request, null, watermark);
+    }
+
+    private WidgetDataRequest copyOf(WidgetDataRequest request) {
+        return new WidgetDataRequest(request.getWidgetId(), request.getSearchFields(), request.getGroupFields(),
+                request.getMeasureFields(), request.getMeasures(), request.getDataSource(), request.getAppCode());
+    }
+}
@@ -1,14 +1,18 @@
 package com.finzly.bankos.dashboard.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.finzly.bankos.dashboard.cache.WidgetResultCache;
+import com.finzly.bankos.dashboard.config.TenantScope;
 import com.finzly.bankos.dashboard.dto.WidgetDTO;
+import com.finzly.bankos.dashboard.dto.projection.WidgetSummaryView;
+import com.finzly.bankos.dashboard.dto.projection.WidgetUsageView;
 import com.finzly.bankos.dashboard.dto.request.CreateWidgetRequest;
 import com.finzly.bankos.dashboard.dto.request.UpdateWidgetRequest;
 import com.finzly.bankos.dashboard.dto.request.WidgetDataRequest;
 import com.finzly.bankos.dashboard.dto.response.WidgetDataResponse;
 import com.finzly.bankos.dashboard.dto.response.WidgetLibraryResponse;
 import com.finzly.bankos.dashboard.dto.response.WidgetResponse;
-import com.finzly.bankos.dashboard.entity.Dashboard;
+import com.finzly.bankos.dashboard.dto.response.WidgetStreamEvent;
 import com.finzly.bankos.dashboard.entity.DashboardWidget;
 import com.finzly.bankos.dashboard.entity.Widget;
 import com.finzly.bankos.dashboard.exception.ResourceNotFoundException;
@@ -20,19 +24,39 @@ import com.finzly.bankos.dashboard.repository.WidgetRepository;
 import com.finzly.bankos.dashboard.repository.DashboardDatasourceConfigRepository;
 import com.finzly.bankos.dashboard.dto.request.WidgetConfigRequest;
 import com.finzly.bankos.dashboard.entity.DashboardDatasourceConfig;
+import com.swapstech.galaxy.common.tenant.model.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+/**
+ * Widget CRUD and widget data.
+ *
+ * There is no class-level transaction: widget data is computed on other connection pools or by
+ * payment-service over HTTP, and a JDBC connection of this service must not be held while that runs.
+ * Entity reads on the data paths go through the repositories, whose methods run in their own short
+ * read-only transactions; writes are transactional only around the statements that change rows.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class WidgetService {
 
     private static final Logger log = LoggerFactory.getLogger(WidgetService.class);
@@ -41,49 +65,95 @@ public class WidgetService {
     private final DashboardWidgetRepository dashboardWidgetRepository;
     private final DashboardRepository dashboardRepository;
     private final DashboardMapper dashboardMapper;
-    private final PaymentDashboardService paymentDashboardService;
     private final PaymentAdapter paymentAdapter;
     private final DashboardDatasourceConfigRepository datasourceConfigRepository;
+    private final WidgetRefreshService widgetRefreshService;
+    private final WidgetResultCache widgetResultCache;
+    private final WidgetDataLoader widgetDataLoader;
+    private final TransactionTemplate transactionTemplate;
+    private final WidgetConfigOutboxService widgetConfigOutboxService;
+    private final Scheduler widgetDataScheduler;
 
+    @Value("${dashboard.widgets.list-deadline-ms:10000}")
+    private long listDeadlineMs;
 
-    public List<WidgetResponse> getAllWidgets(String userId, String departmentId) {
-        log.info("Getting all widgets for user: {}", userId);
+    @Value("${dashboard.widgets.max-page-size:200}")
+    private int maxPageSize;
 
-        List<Widget> widgets = widgetRepository.findVisibleWidgets(userId, departmentId);
+    /**
+     * Lists the widgets visible to the user. Without a page size every visible widget is returned;
+     * widget data is only loaded when includeData is set, otherwise callers fetch it per widget
+     * from the data endpoint when they need it.
+     */
+    public Page<WidgetResponse> getAllWidgets(String userId, String departmentId, boolean includeData,
+                                              int page, Integer size) {
+        log.info("Getting widgets for user: {} (includeData={}, page={}, size={})", userId, includeData, page, size);
 
-        return widgets.stream()
-                .map(widget -> {
-                    WidgetResponse response = dashboardMapper.toWidgetResponse(widget);
-                    // Load widget data for each widget
-                    try {
-                        WidgetDataResponse widgetDataResponse = getWidgetDataForWidget(widget);
-                        if (widgetDataResponse.getSuccess()) {
-                            // Convert data to Map<String, Object> if it's not already
-                            Object data = widgetDataResponse.getData();
-                            if (data instanceof Map) {
-                                @SuppressWarnings("unchecked")
-                                Map<String, Object> dataMap = (Map<String, Object>) data;
-                                response.setWidgetData(dataMap);
-                            } else {
-                                // If data is not a Map, wrap it
-                                Map<String, Object> dataMap = new java.util.HashMap<>();
-                                dataMap.put("data", data);
-                                response.setWidgetData(dataMap);
-                            }
-                            response.setDataLoadSuccess(true);
-                        } else {
-                            response.setDataLoadSuccess(false);
-                            response.setDataLoadError(widgetDataResponse.getErrorMessage());
-                            log.warn("Failed to load data for widget {}: {}", widget.getId(), widgetDataResponse.getErrorMessage());
-                        }
-                    } catch (Exception e) {
-                        response.setDataLoadSuccess(false);
-                        response.setDataLoadError("Error loading widget data: " + e.getMessage());
-                        log.error("Error loading data for widget {}: {}", widget.getId(), e.getMessage());
-                    }
-                    return response;
-                })
+        Pageable pageable = toPageable(page, size);
+        Page<Widget> widgetPage = widgetRepository.findVisibleWidgets(userId, departmentId, pageable);
+
+        List<WidgetResponse> responses = widgetPage.getContent().stream()
+                .map(dashboardMapper::toWidgetResponse)
+                .collect(Collectors.toList());
+        if (includeData) {
+            loadWidgetData(widgetPage.getContent(), responses);
+        }
+        return new PageImpl<>(responses, pageable, widgetPage.getTotalElements());
+    }
+
+    /**
+     * Streams the widgets visible to the user with their data, each widget as soon as its data is
+     * loaded. Paging works as in {@link #getAllWidgets}.
+     */
+    public void streamAllWidgets(String userId, String departmentId, int page, Integer size,
+                                 Consumer<WidgetStreamEvent> sink) {
+        log.info("Streaming widgets for user: {} (page={}, size={})", userId, page, size);
+
+        List<Widget> widgets = widgetRepository.findVisibleWidgets(userId, departmentId, toPageable(page, size)).getContent();
+        List<WidgetResponse> responses = widgets.stream()
+                .map(dashboardMapper::toWidgetResponse)
                 .collect(Collectors.toList());
+
+        int[] failedWidgets = {0};
+        widgetDataLoader.loadEach(widgets, this::getWidgetDataForWidget, Duration.ofMillis(listDeadlineMs),
+                (index, widgetData) -> {
+                    WidgetResponse response = responses.get(index);
+                    dashboardMapper.applyWidgetData(response, widgetData);
+                    if (!Boolean.TRUE.equals(widgetData.getSuccess())) {
+                        failedWidgets[0]++;
+                    }
+                    sink.accept(WidgetStreamEvent.builder()
+                            .type(WidgetStreamEvent.Type.WIDGET)
+                            .index(index)
+                            .total(widgets.size())
+                            .widget(response)
+                            .build());
+                });
+
+        sink.accept(WidgetStreamEvent.builder()
+                .type(WidgetStreamEvent.Type.END)
+                .total(widgets.size())
+                .failedWidgets(failedWidgets[0])
+                .build());
+    }
+
+    private Pageable toPageable(int page, Integer size) {
+        return size == null
+                ? Pageable.unpaged()
+                : PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), maxPageSize), Sort.by("id"));
+    }
+
+    private void loadWidgetData(List<Widget> widgets, List<WidgetResponse> responses) {
+        // Load widget data for all widgets concurrently, keeping the original order
+        List<WidgetDataResponse> widgetData = widgetDataLoader.loadAll(widgets,
+                this::getWidgetDataForWidget, Duration.ofMillis(listDeadlineMs));
+
+        for (int i = 0; i < responses.size(); i++) {
+            dashboardMapper.applyWidgetData(responses.get(i), widgetData.get(i));
+            if (!Boolean.TRUE.equals(widgetData.get(i).getSuccess())) {
+                log.warn("Failed to load data for widget {}: {}", widgets.get(i).getId(), widgetData.get(i).getErrorMessage());
+            }
+        }
     }
 
     public WidgetResponse getWidgetById(Long widgetId) {
@@ -97,23 +167,8 @@ public class WidgetService {
         // Load widget data
         try {
             WidgetDataResponse widgetDataResponse = getWidgetDataForWidget(widget);
-            if (widgetDataResponse.getSuccess()) {
-                // Convert data to Map<String, Object> if it's not already
-                Object data = widgetDataResponse.getData();
-                if (data instanceof Map) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> dataMap = (Map<String, Object>) data;
-                    response.setWidgetData(dataMap);
-                } else {
-                    // If data is not a Map, wrap it
-                    Map<String, Object> dataMap = new java.util.HashMap<>();
-                    dataMap.put("data", data);
-                    response.setWidgetData(dataMap);
-                }
-                response.setDataLoadSuccess(true);
-            } else {
-                response.setDataLoadSuccess(false);
-                response.setDataLoadError(widgetDataResponse.getErrorMessage());
+            dashboardMapper.applyWidgetData(response, widgetDataResponse);
+            if (!Boolean.TRUE.equals(widgetDataResponse.getSuccess())) {
                 log.warn("Failed to load data for widget {}: {}", widget.getId(), widgetDataResponse.getErrorMessage());
             }
         } catch (Exception e) {
@@ -143,37 +198,12 @@ public class WidgetService {
         widget.setCreatedBy(userId);
         widget.setIsActive(true);
 
-        Widget savedWidget = widgetRepository.save(widget);
-
-        // Send widget configuration to payment service for payment-related widgets
-        if ("payment".equalsIgnoreCase(savedWidget.getDataSource()) || "payments".equalsIgnoreCase(savedWidget.getDataSource())) {
-            try {
-                WidgetConfigRequest widgetConfig = buildWidgetConfigRequest(savedWidget);
-                log.info("Built widget configuration for widget '{}': dataSource={}, tableName={}", 
-                    savedWidget.getName(), widgetConfig.getDataSource(), widgetConfig.getTableName());
-                
-                // Call payment service with the widget configuration
-                try {
-                    var response = paymentAdapter.executeWidgetConfiguration(widgetConfig);
-                    log.info("Payment service response for widget '{}': serviceName={}", 
-                        savedWidget.getName(), response.get("serviceName"));
-                    
-                    if (response.containsKey("error")) {
-                        log.warn("Payment service execution failed for widget '{}': {}", 
-                            savedWidget.getName(), response.get("error"));
-                    } else {
-                        log.info("Payment service executed successfully for widget '{}'", savedWidget.getName());
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to call payment service for widget '{}': {}", 
-                        savedWidget.getName(), e.getMessage());
-                    // Don't fail widget creation if payment service is down
-                }
-                
-            } catch (Exception e) {
-                log.warn("Failed to build widget configuration for widget '{}': {}", savedWidget.getName(), e.getMessage());
-            }
-        }
+        // The widget row and its payment-service configuration commit together; the outbox relay sends it later
+        Widget savedWidget = transactionTemplate.execute(status -> {
+            Widget created = widgetRepository.save(widget);
+            enqueueWidgetConfig(created);
+            return created;
+        });
 
         return dashboardMapper.toWidgetResponse(savedWidget);
     }
@@ -181,67 +211,44 @@ public class WidgetService {
     public WidgetResponse updateWidget(Long widgetId, UpdateWidgetRequest request, String userId) {
         log.info("Updating widget id: {} by user: {}", widgetId, userId);
 
-        Widget widget = widgetRepository.findByIdAndIsActiveTrue(widgetId)
-                .orElseThrow(() -> new ResourceNotFoundException("Widget not found with id: " + widgetId));
-
-        // Check if user has permission to update (owner or dashboard editor)
-        if (!widget.getCreatedBy().equals(userId)) {
-            // Additional permission check can be added here based on dashboard permissions
-            log.warn("User {} attempting to update widget {} created by {}", userId, widgetId, widget.getCreatedBy());
-        }
-
-        widget.setName(request.getName());
-        widget.setDescription(request.getDescription());
-        widget.setChartType(request.getChartType());
-        widget.setDataSource(request.getDataSource());
-        widget.setRefreshInterval(request.getRefreshInterval());
-        widget.setGroupFields(request.getGroupFields());
-        widget.setMeasureFields(request.getMeasureFields());
-        widget.setFilterCriteria(request.getFilterCriteria());
-        // Prefer searchFields if provided; otherwise keep previous or fallback to filterCriteria
-        if (request.getSearchFields() != null) {
-            widget.setSearchFields(request.getSearchFields());
-        } else if (request.getFilterCriteria() != null) {
-            widget.setSearchFields(request.getFilterCriteria());
-        }
-        widget.setWidgetConfig(request.getWidgetConfig());
-        widget.setUpdatedBy(userId);
+        // The update and its payment-service configuration commit together; the outbox relay sends it later
+        Widget updatedWidget = transactionTemplate.execute(status -> {
+            Widget widget = widgetRepository.findByIdAndIsActiveTrue(widgetId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Widget not found with id: " + widgetId));
 
-        Widget updatedWidget = widgetRepository.save(widget);
+            // Check if user has permission to update (owner or dashboard editor)
+            if (!widget.getCreatedBy().equals(userId)) {
+                // Additional permission check can be added here based on dashboard permissions
+                log.warn("User {} attempting to update widget {} created by {}", userId, widgetId, widget.getCreatedBy());
+            }
 
-        // Send updated widget configuration to payment service for payment-related widgets
-        if ("payment".equalsIgnoreCase(updatedWidget.getDataSource()) || "payments".equalsIgnoreCase(updatedWidget.getDataSource())) {
-            try {
-                WidgetConfigRequest widgetConfig = buildWidgetConfigRequest(updatedWidget);
-                log.info("Built updated widget configuration for widget '{}': dataSource={}, tableName={}", 
-                    updatedWidget.getName(), widgetConfig.getDataSource(), widgetConfig.getTableName());
-                
-                // Call payment service with the updated widget configuration
-                try {
-                    var response = paymentAdapter.executeWidgetConfiguration(widgetConfig);
-                    log.info("Payment service response for updated widget '{}': serviceName={}", 
-                        updatedWidget.getName(), response.get("serviceName"));
-                    
-                    if (response.containsKey("error")) {
-                        log.warn("Payment service execution failed for updated widget '{}': {}", 
-                            updatedWidget.getName(), response.get("error"));
-                    } else {
-                        log.info("Payment service executed successfully for updated widget '{}'", updatedWidget.getName());
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to call payment service for updated widget '{}': {}", 
-                        updatedWidget.getName(), e.getMessage());
-                    // Don't fail widget update if payment service is down
-                }
-                
-            } catch (Exception e) {
-                log.warn("Failed to build widget configuration for updated widget '{}': {}", updatedWidget.getName(), e.getMessage());
+            widget.setName(request.getName());
+            widget.setDescription(request.getDescription());
+            widget.setChartType(request.getChartType());
+            widget.setDataSource(request.getDataSource());
+            widget.setRefreshInterval(request.getRefreshInterval());
+            widget.setGroupFields(request.getGroupFields());
+            widget.setMeasureFields(request.getMeasureFields());
+            widget.setFilterCriteria(request.getFilterCriteria());
+            // Prefer searchFields if provided; otherwise keep previous or fallback to filterCriteria
+            if (request.getSearchFields() != null) {
+                widget.setSearchFields(request.getSearchFields());
+            } else if (request.getFilterCriteria() != null) {
+                widget.setSearchFields(request.getFilterCriteria());
             }
-        }
+            widget.setWidgetConfig(request.getWidgetConfig());
+            widget.setUpdatedBy(userId);
+
+            Widget saved = widgetRepository.save(widget);
+            enqueueWidgetConfig(saved);
+            return saved;
+        });
+        widgetResultCache.evictWidget(TenantContext.getCurrentTenant(), widgetId);
 
         return dashboardMapper.toWidgetResponse(updatedWidget);
     }
 
+    @Transactional
     public void deleteWidget(Long widgetId, String userId) {
         log.info("Deleting widget id: {} by user: {}", widgetId, userId);
 
@@ -265,6 +272,7 @@ public class WidgetService {
         widget.setIsActive(false);
         widget.setUpdatedBy(userId);
         widgetRepository.save(widget);
+        widgetResultCache.evictWidget(TenantContext.getCurrentTenant(), widgetId);
 
         log.info("Widget {} soft deleted successfully", widgetId);
     }
@@ -312,7 +320,7 @@ public class WidgetService {
     /**
      * Helper method to get widget data for a specific widget entity
      */
-    private WidgetDataResponse getWidgetDataForWidget(Widget widget) {
+    public WidgetDataResponse getWidgetDataForWidget(Widget widget) {
         WidgetDataRequest request = new WidgetDataRequest();
         request.setWidgetId(widget.getId());
         request.setDataSource(widget.getDataSource());
@@ -320,24 +328,55 @@ public class WidgetService {
         request.setMeasureFields(widget.getMeasureFields());
         request.setSearchFields(widget.getSearchFields() != null ? widget.getSearchFields() : widget.getFilterCriteria());
         
-        return getWidgetData(request);
+        return getWidgetData(request, widget);
     }
 
     /**
      * Gets widget data by delegating to the appropriate data source controller
      */
     public WidgetDataResponse getWidgetData(WidgetDataRequest request) {
-        log.info("Getting widget data for widget: {} with data source: {}",
-                request.getWidgetId(), request.getDataSource());
-
-        try {
-            // Get widget configuration
-            Widget widget = null;
-            if (request.getWidgetId() != null) {
+        // Get widget configuration
+        Widget widget = null;
+        if (request.getWidgetId() != null) {
+            try {
                 widget = widgetRepository.findByIdAndIsActiveTrue(request.getWidgetId())
                         .orElse(null);
+            } catch (Exception e) {
+                log.error("Error getting widget data for widget: {}", request.getWidgetId(), e);
+                return WidgetDataResponse.error(request.getWidgetId(), request.getDataSource(),
+                        "Error processing widget data: " + e.getMessage());
             }
+        }
+        return getWidgetData(request, widget);
+    }
+
+    /**
+     * Non-blocking variant of getWidgetData: the widget lookup and the data queries run on the widget
+     * data scheduler, so the calling thread is released while they wait on the database
+     */
+    public Mono<WidgetDataResponse> getWidgetDataReactive(WidgetDataRequest request) {
+        String tenant = TenantContext.getCurrentTenant();
+        return Mono.fromCallable(() -> TenantScope.call(tenant, () -> getWidgetData(request)))
+                .subscribeOn(widgetDataScheduler);
+    }
+
+    /**
+     * Non-blocking variant of getWidgetDataForWidget for the given tenant; callers pass the tenant
+     * they captured on the request thread, since the tenant context is not carried across schedulers
+     */
+    public Mono<WidgetDataResponse> getWidgetDataReactive(Widget widget, String tenant) {
+        return Mono.fromCallable(() -> TenantScope.call(tenant, () -> getWidgetDataForWidget(widget)))
+                .subscribeOn(widgetDataScheduler);
+    }
 
+    /**
+     * Gets widget data for an already loaded widget (or none for ad-hoc requests) without fetching it again
+     */
+    public WidgetDataResponse getWidgetData(WidgetDataRequest request, Widget widget) {
+        log.info("Getting widget data for widget: {} with data source: {}",
+                request.getWidgetId(), request.getDataSource());
+
+        try {
             // If widget is found, use its configuration to supplement the request
             if (widget != null) {
                 if (request.getDataSource() == null) {
@@ -366,7 +405,7 @@ public class WidgetService {
                 case "payment":
                 case "payments":
                     request.setAppCode("finzly.payment");
-                    return paymentDashboardService.execute(request);
+                    return widgetRefreshService.getPaymentWidgetData(request, widget != null ? widget.getRefreshInterval() : null);
 
                 case "bulkfile":
                 case "bulk_file":
@@ -398,46 +437,49 @@ public class WidgetService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<WidgetLibraryResponse> getWidgetLibrary(String userId, String departmentId, Long dashboardId) {
         log.info("Getting widget library for user: {} and dashboard: {}", userId, dashboardId);
 
-        // Get all visible widgets
-        List<Widget> widgets = widgetRepository.findVisibleWidgets(userId, departmentId);
+        // Get all visible widgets, reading only the columns the library shows
+        List<WidgetSummaryView> widgets = widgetRepository.findVisibleWidgetSummaries(userId, departmentId);
 
-        // Get current dashboard if specified
-        Dashboard currentDashboard = null;
-        List<Long> currentDashboardWidgetIds = List.of();
+        // Get widget ids of the current dashboard if specified
+        Long currentDashboardId = null;
+        Set<Long> currentDashboardWidgetIds = Set.of();
         if (dashboardId != null) {
             try {
-                currentDashboard = dashboardRepository.findByIdAndIsActiveTrue(dashboardId).orElse(null);
-                if (currentDashboard != null) {
-                                    currentDashboardWidgetIds = dashboardWidgetRepository
-                        .findByDashboardIdAndIsActiveTrue(dashboardId)
-                        .stream()
-                        .map(dw -> dw.getWidget().getId())
-                        .collect(Collectors.toList());
+                if (dashboardRepository.findByIdAndIsActiveTrue(dashboardId).isPresent()) {
+                    currentDashboardWidgetIds = dashboardWidgetRepository.findWidgetIdsByDashboardId(dashboardId);
+                    currentDashboardId = dashboardId;
                 }
             } catch (Exception e) {
                 log.warn("Error loading dashboard {}: {}", dashboardId, e.getMessage());
             }
         }
 
-        final List<Long> finalCurrentDashboardWidgetIds = currentDashboardWidgetIds;
-        final Dashboard finalCurrentDashboard = currentDashboard;
+        // Load the dashboard usages of all visible widgets in one query
+        Map<Long, List<WidgetUsageView>> usagesByWidgetId = widgets.isEmpty()
+                ? Map.of()
+                : dashboardWidgetRepository.findUsagesByWidgetIds(
+                                widgets.stream().map(WidgetSummaryView::getId).collect(Collectors.toList()))
+                        .stream()
+                        .collect(Collectors.groupingBy(WidgetUsageView::getWidgetId));
+
+        final Set<Long> finalCurrentDashboardWidgetIds = currentDashboardWidgetIds;
+        final Long finalCurrentDashboardId = currentDashboardId;
 
         return widgets.stream()
                 .map(widget -> {
                     // Get usage information for this widget
-                    List<DashboardWidget> usages = dashboardWidgetRepository
-                            .findByWidgetIdAndIsActiveTrue(widget.getId());
+                    List<WidgetUsageView> usages = usagesByWidgetId.getOrDefault(widget.getId(), List.of());
 
                     List<WidgetLibraryResponse.DashboardUsageInfo> usageInfo = usages.stream()
-                            .map(dw -> WidgetLibraryResponse.DashboardUsageInfo.builder()
-                                    .dashboardId(dw.getDashboard().getId())
-                                    .dashboardName(dw.getDashboard().getName())
-                                    .dashboardDescription(dw.getDashboard().getDescription())
-                                    .isCurrentDashboard(finalCurrentDashboard != null &&
-                                            dw.getDashboard().getId().equals(finalCurrentDashboard.getId()))
+                            .map(usage -> WidgetLibraryResponse.DashboardUsageInfo.builder()
+                                    .dashboardId(usage.getDashboardId())
+                                    .dashboardName(usage.getDashboardName())
+                                    .dashboardDescription(usage.getDashboardDescription())
+                                    .isCurrentDashboard(usage.getDashboardId().equals(finalCurrentDashboardId))
                                     .build())
                             .collect(Collectors.toList());
 
@@ -587,6 +629,23 @@ public class WidgetService {
         }
     }
 
+    /**
+     * Queues the configuration of a payment widget for payment-service in the current transaction.
+     */
+    private void enqueueWidgetConfig(Widget widget) {
+        if (!"payment".equalsIgnoreCase(widget.getDataSource()) && !"payments".equalsIgnoreCase(widget.getDataSource())) {
+            return;
+        }
+        try {
+            WidgetConfigRequest widgetConfig = buildWidgetConfigRequest(widget);
+            widgetConfigOutboxService.enqueue(widgetConfig);
+            log.info("Queued widget configuration for widget '{}': dataSource={}, tableName={}",
+                    widget.getName(), widgetConfig.getDataSource(), widgetConfig.getTableName());
+        } catch (ResourceNotFoundException e) {
+            log.warn("Failed to build widget configuration for widget '{}': {}", widget.getName(), e.getMessage());
+        }
+    }
+
     /**
      * Helper method to build WidgetConfigRequest from Widget entity
      * @param widget The widget entity
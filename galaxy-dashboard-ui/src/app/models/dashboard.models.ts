@@ -34,6 +34,13 @@ export interface DashboardResponse {
   widgets?: DashboardWidgetResponse[];
 }
 
+export interface DashboardRenderResponse {
+  dashboard: DashboardResponse;
+  failedWidgets: number;
+  complete: boolean;
+  renderTimeMs: number;
+}
+
 export interface CreateDashboardRequest {
   name: string;
   description?: string;
@@ -324,6 +331,7 @@ export interface WidgetDataResponse {
   lastUpdated: string;
   success: boolean;
   errorMessage?: string;
+  stale?: boolean;
 }
 
 export interface WidgetMetadata {
@@ -336,6 +344,12 @@ export interface WidgetMetadata {
   executionTimeMs: number;
 }
 
+// Columnar widget data, returned for Accept: application/json;format=columnar
+export interface ColumnarWidgetData {
+  labels: string[];
+  series: { name: string; values: number[] }[];
+}
+
 // Frontend-specific models (for compatibility with existing components)
 export interface Dashboard {
   id: number;
@@ -7,6 +7,7 @@ import {
   ApiResponse,
   DashboardSummaryResponse,
   DashboardResponse,
+  DashboardRenderResponse,
   CreateDashboardRequest,
   UpdateDashboardRequest,
   AddWidgetToDashboardRequest,
@@ -163,6 +164,16 @@ private getCurrentUser(): { userId: string; departmentId: string } {
       .pipe(catchError(this.handleError));
   }
 
+  renderDashboard(id: number): Observable<ApiResponse<DashboardRenderResponse>> {
+    const user = this.getCurrentUser();
+    const params = new HttpParams()
+      .set('userId', user.userId)
+      .set('departmentId', user.departmentId);
+    
+    return this.http.get<ApiResponse<DashboardRenderResponse>>(`${this.apiUrl}/portal/dashboards/${id}/render`, { params })
+      .pipe(catchError(this.handleError));
+  }
+
   createDashboard(request: CreateDashboardRequest): Observable<ApiResponse<DashboardResponse>> {
     const user = this.getCurrentUser();
     const params = new HttpParams().set('userId', user.userId);
@@ -252,11 +263,16 @@ private getCurrentUser(): { userId: string; departmentId: string } {
   }
 
   // Widget APIs
-  getAllWidgets(): Observable<ApiResponse<WidgetResponse[]>> {
+  // Widget data is only included when requested; otherwise load it per widget via getWidgetData
+  getAllWidgets(includeData = false, page?: number, size?: number): Observable<ApiResponse<WidgetResponse[]>> {
     const user = this.getCurrentUser();
-    const params = new HttpParams()
+    let params = new HttpParams()
       .set('userId', user.userId)
-      .set('departmentId', user.departmentId);
+      .set('departmentId', user.departmentId)
+      .set('includeData', includeData);
+    if (size !== undefined) {
+      params = params.set('page', page ?? 0).set('size', size);
+    }
     
     return this.http.get<ApiResponse<WidgetResponse[]>>(`${this.apiUrl}/portal/widgets`, { params })
       .pipe(catchError(this.handleError));
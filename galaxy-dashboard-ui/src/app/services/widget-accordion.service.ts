@@ -314,7 +314,7 @@ export class WidgetAccordionService {
   private loadWidgetsFromBackend(): void {
     this.loadingService.setWidgetsLoading(true);
     
-    this.apiService.getAllWidgets().subscribe({
+    this.apiService.getAllWidgets(true).subscribe({
       next: (response) => {
         this.backendWidgets = response.data;
         this.availableWidgets = this.mapBackendWidgetsToFrontend(response.data);
@@ -396,7 +396,7 @@ export class WidgetAccordionService {
   }
 
   refreshWidgets(): Observable<Widget[]> {
-    return this.apiService.getAllWidgets().pipe(
+    return this.apiService.getAllWidgets(true).pipe(
       map(response => {
         this.backendWidgets = response.data;
         this.availableWidgets = this.mapBackendWidgetsToFrontend(response.data);